@@ -0,0 +1,114 @@
+package game;
+
+import org.bytedeco.opencv.opencv_objdetect.CascadeClassifier;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads assets from the classpath on background threads. Every request
+ * returns a {@link Future} straight away and is deduplicated by name, so
+ * the window can show a loading screen while cascades and audio decode in
+ * parallel, and later callers of the same asset share the first load.
+ */
+public class AssetManager {
+
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<String, Future<?>> assets = new ConcurrentHashMap<>();
+    private final List<Future<?>> tracked = new ArrayList<>();
+
+    public AssetManager(int threads) {
+        executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "asset-loader");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Haar cascade from the classpath, e.g. "cascade/left.xml" */
+    public Future<CascadeClassifier> cascade(final String resourcePath) {
+        return submit("cascade:" + resourcePath, () -> {
+            CascadeClassifier classifier = new CascadeClassifier(toFile(resourcePath).getPath());
+            if (classifier.empty()) throw new IOException("Invalid cascade: " + resourcePath);
+            return classifier;
+        });
+    }
+
+    /** Looping music track; see {@link AudioPlayer#AudioPlayer(String, boolean)} */
+    public Future<AudioPlayer> music(final String resourcePath, final boolean streaming) {
+        return submit("music:" + resourcePath, () -> new AudioPlayer(resourcePath, streaming));
+    }
+
+    /** Short effect decoded into {@code sfx}; the future holds its id, or -1 if missing */
+    public Future<Integer> sound(final SoundEffects sfx, final String resourcePath) {
+        return submit("sound:" + resourcePath, () -> sfx.load(resourcePath));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Future<T> submit(String key, Callable<T> loader) {
+        synchronized (tracked) {
+            Future<?> existing = assets.get(key);
+            if (existing != null) return (Future<T>) existing;
+            Future<T> future = executor.submit(loader);
+            assets.put(key, future);
+            tracked.add(future);
+            return future;
+        }
+    }
+
+    /** Fraction of requested assets that have finished loading, successfully or not */
+    public float progress() {
+        synchronized (tracked) {
+            if (tracked.isEmpty()) return 1f;
+            int done = 0;
+            for (Future<?> f : tracked) {
+                if (f.isDone()) done++;
+            }
+            return done / (float) tracked.size();
+        }
+    }
+
+    public boolean isDone() {
+        return progress() >= 1f;
+    }
+
+    /**
+     * Native loaders such as OpenCV need a real file. Resources already on
+     * disk are used in place; ones inside a jar are copied to a temp file.
+     */
+    static File toFile(String resourcePath) throws IOException {
+        URL url = AssetManager.class.getClassLoader().getResource(resourcePath);
+        if (url == null) throw new IOException("Resource not found: " + resourcePath);
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return new File(url.toURI());
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+
+        String name = resourcePath.substring(resourcePath.lastIndexOf('/') + 1);
+        File file = File.createTempFile("asset-", "-" + name);
+        file.deleteOnExit();
+        try (InputStream in = url.openStream()) {
+            Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
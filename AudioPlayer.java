@@ -4,26 +4,200 @@ import javax.sound.sampled.*;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URL;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Looping audio track. Two modes:
+ * <ul>
+ *   <li>Clip (default): the whole file is decoded into memory up front. Fine
+ *       for short sounds.</li>
+ *   <li>Streaming: a feeder thread decodes the file in small chunks into a
+ *       {@link SourceDataLine}, reopening it at the end for a gapless loop.
+ *       Startup time and memory stay the same however long the track is.</li>
+ * </ul>
+ * Volume changes ramp smoothly on a log curve (see {@link GainRamp}), and
+ * play/stop fade in and out. In streaming mode the feeder thread scales the
+ * samples itself; in Clip mode a shared "audio-gain" thread steps the line's
+ * gain control. Neither needs the caller to poll.
+ */
 public class AudioPlayer {
+    // Feeder chunk and line buffer sizes, in milliseconds of audio
+    private static final int CHUNK_MILLIS = 50;
+    private static final int LINE_BUFFER_MILLIS = 250;
+
+    // Gain automation: ramp for volume changes, fade for play/stop. In
+    // streaming mode the gain is applied to a chunk before it is queued, so a
+    // change is heard up to CHUNK_MILLIS + LINE_BUFFER_MILLIS (~300 ms) late;
+    // the ramp keeps its length, only its start is delayed. Clip mode steps
+    // the line's gain control directly and has no such lag
+    private static final int RAMP_MILLIS = Integer.getInteger("audio.rampMillis", 60);
+    private static final int FADE_MILLIS = Integer.getInteger("audio.fadeMillis", 400);
+    private static final int GAIN_TICK_MILLIS = 5;
+    private static final ScheduledExecutorService GAIN_TICKER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "audio-gain");
+        t.setDaemon(true);
+        return t;
+    });
+
     private Clip clip;
+    private SourceDataLine line;
     private float volume = 0.7f; // Add volume field, default volume is 70%
+    private GainRamp gain;
+    private volatile boolean stopping; // fading out; the audio side stops once silent
+    // Guards the stopping/playing handoff between callers, the feeder and the
+    // clip ticker, and wakes the feeder when playback starts
+    private final Object feederLock = new Object();
+
+    // Clip mode: hardware gain control driven by the ticker
+    private FloatControl gainControl;
+    private FloatControl volumeControl;
+    private ScheduledFuture<?> gainTask;
+    private double appliedAmplitude = -1;
+
+    // Streaming state
+    private URL url;
+    private AudioFormat pcm;
+    private Thread feeder;
+    private volatile boolean playing;
+    private volatile boolean closed;
 
     /**
      * @param resourcePath e.g. "audio/music.wav" on your classpath
      */
     public AudioPlayer(String resourcePath) {
+        this(resourcePath, false);
+    }
+
+    /**
+     * @param resourcePath e.g. "audio/music.wav" on your classpath
+     * @param streaming    stream from the file instead of decoding it into a Clip
+     */
+    public AudioPlayer(String resourcePath, boolean streaming) {
         try {
             // 1) Load from classpath
-            URL url = getClass().getClassLoader().getResource(resourcePath);
+            url = getClass().getClassLoader().getResource(resourcePath);
             if (url == null) throw new IOException("Resource not found: " + resourcePath);
 
-            // 2) Get raw AudioInputStream
-            AudioInputStream in = AudioSystem.getAudioInputStream(url);
+            if (streaming) {
+                openStream();
+            } else {
+                openClip();
+            }
+
+        } catch (UnsupportedAudioFileException | LineUnavailableException | IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void openClip() throws UnsupportedAudioFileException, LineUnavailableException, IOException {
+        // 2) Get raw AudioInputStream, converted to 16-bit PCM
+        AudioInputStream in = AudioSystem.getAudioInputStream(url);
+        AudioInputStream din = toPcm(in);
+
+        // 3) Read it fully into a byte[]
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = din.read(buffer)) != -1) {
+            baos.write(buffer, 0, read);
+        }
+        byte[] audioBytes = baos.toByteArray();
+        din.close();
+        in.close();
+
+        // 4) Open clip from byte[] (bypasses the <0 check)
+        clip = AudioSystem.getClip();
+        clip.open(pcm, audioBytes, 0, audioBytes.length);
+
+        // Set the initial volume
+        gain = new GainRamp(pcm.getFrameRate(), volume);
+        findControls();
+        applyToControl(gain.getAmplitude());
+        gainTask = GAIN_TICKER.scheduleAtFixedRate(this::tickClipGain,
+                GAIN_TICK_MILLIS, GAIN_TICK_MILLIS, TimeUnit.MILLISECONDS);
+
+        clip.loop(Clip.LOOP_CONTINUOUSLY);
+    }
+
+    private void openStream() throws UnsupportedAudioFileException, LineUnavailableException, IOException {
+        // Only the header is read here, to learn the format
+        AudioInputStream probe = toPcm(AudioSystem.getAudioInputStream(url));
+        probe.close();
+
+        int bytesPerMilli = Math.max(1, (int) (pcm.getFrameRate() * pcm.getFrameSize() / 1000f));
+        line = AudioSystem.getSourceDataLine(pcm);
+        line.open(pcm, alignToFrame(bytesPerMilli * LINE_BUFFER_MILLIS));
+        gain = new GainRamp(pcm.getFrameRate(), volume);
+
+        final byte[] chunk = new byte[alignToFrame(bytesPerMilli * CHUNK_MILLIS)];
+        feeder = new Thread(() -> feed(chunk), "audio-stream");
+        feeder.setDaemon(true);
+        feeder.start();
+    }
+
+    /** Feeder loop: decode a chunk, write it, and reopen the file at the end for the next loop */
+    private void feed(byte[] chunk) {
+        AudioInputStream din = null;
+        try {
+            while (!closed) {
+                synchronized (feederLock) {
+                    while (!playing && !closed) feederLock.wait();
+                }
+                if (closed) break;
+
+                if (din == null) din = toPcm(AudioSystem.getAudioInputStream(url));
+                int read = din.read(chunk, 0, chunk.length);
+                if (read == -1) {
+                    // The line still holds ~LINE_BUFFER_MILLIS of audio, which covers reopening
+                    din.close();
+                    din = null;
+                    continue;
+                }
+                gain.apply(chunk, read, pcm.getChannels());
+                // Blocks while the line is full, which paces this thread to playback
+                line.write(chunk, 0, read);
+
+                boolean faded;
+                synchronized (feederLock) {
+                    faded = stopping && !gain.isRamping();
+                }
+                if (faded) {
+                    // Fade-out written; let the line play out what is still queued
+                    // before stopping. Drain outside the lock so play() is not held up
+                    line.drain();
+                    synchronized (feederLock) {
+                        // play() may have cancelled the stop meanwhile, and a new
+                        // stop() after that would still be ramping down
+                        if (stopping && !gain.isRamping()) {
+                            stopping = false;
+                            playing = false;
+                            line.stop();
+                        }
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (UnsupportedAudioFileException | IOException e) {
+            e.printStackTrace();
+        } finally {
+            if (din != null) {
+                try {
+                    din.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
 
-            // 3) Define a PCM‐signed format
+    private AudioInputStream toPcm(AudioInputStream in) {
+        // Define a PCM‐signed format; a looping stream reopens the same file, so keep the first
+        if (pcm == null) {
             AudioFormat base = in.getFormat();
-            AudioFormat pcm = new AudioFormat(
+            pcm = new AudioFormat(
                 AudioFormat.Encoding.PCM_SIGNED,
                 base.getSampleRate(),
                 16,
@@ -32,77 +206,124 @@ public class AudioPlayer {
                 base.getSampleRate(),
                 false
             );
+        }
+        return AudioSystem.getAudioInputStream(pcm, in);
+    }
 
-            // 4) Convert to PCM
-            AudioInputStream din = AudioSystem.getAudioInputStream(pcm, in);
+    private int alignToFrame(int bytes) {
+        int frame = pcm.getFrameSize();
+        return Math.max(frame, bytes - bytes % frame);
+    }
 
-            // 5) Read it fully into a byte[]
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            byte[] buffer = new byte[4096];
-            int read;
-            while ((read = din.read(buffer)) != -1) {
-                baos.write(buffer, 0, read);
+    /** Start playback (if not already running), fading in */
+    public void play() {
+        if (gain == null) return;
+        synchronized (feederLock) {
+            if (stopping) {
+                // Cancel a fade-out in progress and come back up from where it got to
+                stopping = false;
+                gain.rampTo(volume, FADE_MILLIS);
+                return;
+            }
+            if (clip != null && !clip.isRunning()) {
+                gain.rampTo(0f, 0);
+                clip.start();
+                gain.rampTo(volume, FADE_MILLIS);
+            }
+            if (line != null && !playing) {
+                gain.rampTo(0f, 0);
+                line.start();
+                playing = true;
+                feederLock.notifyAll();
+                gain.rampTo(volume, FADE_MILLIS);
             }
-            byte[] audioBytes = baos.toByteArray();
-            din.close();
-            in.close();
+        }
+    }
 
-            // 6) Open clip from byte[] (bypasses the <0 check)
-            clip = AudioSystem.getClip();
-            clip.open(pcm, audioBytes, 0, audioBytes.length);
+    /** Fade out, then stop playback */
+    public void stop() {
+        if (gain == null) return;
+        synchronized (feederLock) {
+            boolean running = (clip != null && clip.isRunning()) || (line != null && playing);
+            if (!running || stopping) return;
+            stopping = true;
+            gain.rampTo(0f, FADE_MILLIS);
+        }
+    }
 
-            // Set the initial volume
-            setVolume(volume);
+    /** Stop playback immediately and release the line and feeder thread */
+    public void close() {
+        closed = true;
+        if (gainTask != null) gainTask.cancel(false);
+        synchronized (feederLock) {
+            stopping = false;
+            playing = false;
+            feederLock.notifyAll();
+        }
+        if (clip != null) {
+            clip.stop();
+            clip.close();
+        }
+        if (line != null) {
+            line.stop();
+            // Unblocks a feeder waiting in write()
+            line.flush();
+            line.close();
+        }
+    }
 
-            clip.loop(Clip.LOOP_CONTINUOUSLY);
+    /** Set volume, ramping to it over a short time */
+    public void setVolume(float volume) {
+        setVolume(volume, RAMP_MILLIS);
+    }
 
-        } catch (UnsupportedAudioFileException | LineUnavailableException | IOException e) {
-            e.printStackTrace();
+    /** Set volume, ramping to it over {@code millis} */
+    public void setVolume(float volume, int millis) {
+        synchronized (feederLock) {
+            this.volume = volume;
+            // A fade-out in progress keeps going; play() ramps back to the new volume
+            if (gain != null && !stopping) gain.rampTo(volume, millis);
         }
     }
 
-    /** Start playback (if not already running) */
-    public void play() {
-        if (clip != null && !clip.isRunning()) {
-            clip.start();
+    /** Clip mode: step the ramp and push it to the line's gain control */
+    private void tickClipGain() {
+        int frames = (int) (pcm.getFrameRate() * GAIN_TICK_MILLIS / 1000f);
+        double amplitude = gain.advance(frames);
+        if (amplitude != appliedAmplitude) {
+            applyToControl(amplitude);
+            appliedAmplitude = amplitude;
+        }
+        synchronized (feederLock) {
+            if (stopping && !gain.isRamping()) {
+                stopping = false;
+                clip.stop();
+            }
         }
     }
 
-    /** Stop playback */
-    public void stop() {
-        if (clip != null && clip.isRunning()) {
-            clip.stop();
+    private void findControls() {
+        if (clip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
+            gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
+        } else if (clip.isControlSupported(FloatControl.Type.VOLUME)) {
+            volumeControl = (FloatControl) clip.getControl(FloatControl.Type.VOLUME);
+        } else {
+            System.err.println("The audio system does not support volume control");
         }
     }
-    
-    /** Set volume */
-    public void setVolume(float volume) {
-        this.volume = volume;
-        if (clip != null) {
-            try {
-                FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-               // Convert linear volume to decibels
-// The decibel range is typically -80.0f (silent) to 6.0f (loud)
-// We map the linear volume range of 0.0-1.0 to this range
-                float min = gainControl.getMinimum();
-                float max = gainControl.getMaximum();
-                float dB = min + (max - min) * volume;
-                gainControl.setValue(dB);
-            } catch (IllegalArgumentException e) {
-                
-                try {
-                    FloatControl volumeControl = (FloatControl) clip.getControl(FloatControl.Type.VOLUME);
-                    float min = volumeControl.getMinimum();
-                    float max = volumeControl.getMaximum();
-                    float value = min + (max - min) * volume;
-                    volumeControl.setValue(value);
-                } catch (IllegalArgumentException ex) {
-                    System.err.println("The audio system does not support volume control");
-                }
-            }
+
+    private void applyToControl(double amplitude) {
+        if (gainControl != null) {
+            // Amplitude to decibels, clamped to what the line supports
+            float dB = amplitude > 0 ? (float) (20 * Math.log10(amplitude)) : gainControl.getMinimum();
+            gainControl.setValue(Math.max(gainControl.getMinimum(), Math.min(gainControl.getMaximum(), dB)));
+        } else if (volumeControl != null) {
+            float min = volumeControl.getMinimum();
+            float max = volumeControl.getMaximum();
+            volumeControl.setValue(min + (max - min) * (float) amplitude);
         }
     }
-    
+
    /** Get the current volume */
     public float getVolume() {
         return volume;
@@ -0,0 +1,153 @@
+package game;
+
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays storage for every bullet in play. Live bullets are kept
+ * densely packed in slots [0, size()); {@link #free(int)} moves the last
+ * bullet into the freed slot, so callers iterating by index must revisit
+ * the slot they just freed. Arrays only grow, so the pool itself produces
+ * no garbage once it has reached its peak size.
+ * <p>
+ * Every bullet is moved by the pool in a straight line and expires when
+ * its life runs out or it enters a wall cell of the maze given to
+ * {@link #setWalls}. {@code Player.shoot()} and the enemies still build a
+ * {@link Bullet} per shot, outside this tree; {@link #allocate(Bullet, int)}
+ * reads its velocity and lets it go, so those objects die young but are
+ * still garbage. Removing them needs changes to Player and Enemy.
+ */
+public class BulletPool {
+
+    public static final int OWNER_PLAYER = 0;
+    public static final int OWNER_ENEMY = 1;
+
+    // Drawn size of every bullet, and colour by owner: white player, red enemy
+    private static final float HALF_SIZE = 0.01f;
+    private static final float[][] COLOR = {
+        {1f, 1f, 1f},
+        {1f, 0f, 0f}
+    };
+    // Steps a Bullet copied into the pool may live if it never reaches a wall
+    private static final int MAX_LIFE = 600;
+
+    private float[] x, y, prevX, prevY, vx, vy;
+    private int[] life, owner;
+    private int size = 0;
+
+    // Walls that stop bullets; null lets them fly until they expire
+    private MazeGrid walls;
+    private float cellSize;
+
+    public BulletPool(int capacity) {
+        x = new float[capacity];
+        y = new float[capacity];
+        prevX = new float[capacity];
+        prevY = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        life = new int[capacity];
+        owner = new int[capacity];
+    }
+
+    /**
+     * Allocate a bullet.
+     * @param life number of updates until it expires, counting the one that kills it
+     * @return its slot index
+     */
+    public int allocate(float px, float py, float dx, float dy, int life, int owner) {
+        if (size == x.length) grow();
+        int i = size++;
+        x[i] = prevX[i] = px;
+        y[i] = prevY[i] = py;
+        vx[i] = dx;
+        vy[i] = dy;
+        this.life[i] = life;
+        this.owner[i] = owner;
+        return i;
+    }
+
+    /**
+     * Copy a {@link Bullet} produced by {@code Player.shoot()} or an enemy.
+     * Bullet exposes only its position, so its per-step velocity is read
+     * from a single {@code update()}; the object is not kept. The copy lives
+     * until it reaches a wall, or at most {@value #MAX_LIFE} steps.
+     */
+    public int allocate(Bullet b, int owner) {
+        float startX = b.x, startY = b.y;
+        b.update();
+        return allocate(startX, startY, b.x - startX, b.y - startY, MAX_LIFE, owner);
+    }
+
+    /** Maze whose wall cells, and everything outside it, stop bullets */
+    public void setWalls(MazeGrid walls, float cellSize) {
+        this.walls = walls;
+        this.cellSize = cellSize;
+    }
+
+    /** Release slot {@code i}; the last live bullet moves into it */
+    public void free(int i) {
+        int last = --size;
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            prevX[i] = prevX[last];
+            prevY[i] = prevY[last];
+            vx[i] = vx[last];
+            vy[i] = vy[last];
+            life[i] = life[last];
+            owner[i] = owner[last];
+        }
+    }
+
+    /** Advance every bullet one simulation step and drop expired ones */
+    public void update() {
+        for (int i = 0; i < size; i++) {
+            if (--life[i] <= 0) {
+                free(i--);
+                continue;
+            }
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            x[i] += vx[i];
+            y[i] += vy[i];
+            if (walls != null && walls.isWall(MazeGrid.rowAt(y[i], cellSize), MazeGrid.colAt(x[i], cellSize))) {
+                free(i--);
+            }
+        }
+    }
+
+    /**
+     * Queue all bullets of one owner into {@code batch} in that owner's colour,
+     * interpolated between their previous and current positions by {@code alpha}.
+     */
+    public void render(QuadBatch batch, int who, float alpha) {
+        batch.setColor(COLOR[who][0], COLOR[who][1], COLOR[who][2]);
+        for (int i = 0; i < size; i++) {
+            if (owner[i] != who) continue;
+            float bx = prevX[i] + (x[i] - prevX[i]) * alpha;
+            float by = prevY[i] + (y[i] - prevY[i]) * alpha;
+            batch.quad(bx - HALF_SIZE, by - HALF_SIZE, bx + HALF_SIZE, by + HALF_SIZE);
+        }
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() { return size; }
+    public float x(int i) { return x[i]; }
+    public float y(int i) { return y[i]; }
+    public int owner(int i) { return owner[i]; }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        life = Arrays.copyOf(life, capacity);
+        owner = Arrays.copyOf(owner, capacity);
+    }
+}
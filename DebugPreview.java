@@ -0,0 +1,109 @@
+package game;
+
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JFrame;
+
+import org.bytedeco.javacv.CanvasFrame;
+import org.bytedeco.javacv.OpenCVFrameConverter;
+import org.bytedeco.opencv.opencv_core.Mat;
+
+/**
+ * Optional webcam preview window fed from the gesture pipeline.
+ * <p>
+ * The producer asks {@link #wantsFrame(long)} before doing any annotation
+ * work, so nothing is drawn while the window is closed or between frames
+ * of the rate limit. Annotated frames travel through a bounded queue that
+ * drops the oldest entry when full, and are shown on the preview's own
+ * thread. Mats are recycled through a small free list, so the preview
+ * allocates nothing once warm.
+ */
+public class DebugPreview {
+
+    private static final int QUEUE_SIZE = 2;
+
+    private final CanvasFrame canvas;
+    // Used only by the preview thread
+    private final OpenCVFrameConverter.ToMat converter = new OpenCVFrameConverter.ToMat();
+    private final long periodNanos;
+    private final BlockingQueue<Mat> ready = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private final BlockingQueue<Mat> free = new ArrayBlockingQueue<>(QUEUE_SIZE + 1);
+    private final Thread thread;
+    private volatile boolean enabled = true;
+    private long nextDue = 0;
+
+    public DebugPreview(String title, int width, int height, int maxFps) {
+        this.periodNanos = 1_000_000_000L / Math.max(1, maxFps);
+        for (int i = 0; i < QUEUE_SIZE + 1; i++) {
+            free.add(new Mat());
+        }
+
+        canvas = new CanvasFrame(title);
+        canvas.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        canvas.setCanvasSize(width, height);
+        canvas.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                enabled = false;
+            }
+        });
+
+        thread = new Thread(this::renderLoop, "gesture-preview");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** True if the producer should annotate and submit a frame now */
+    public boolean wantsFrame(long now) {
+        return enabled && canvas.isVisible() && now - nextDue >= 0;
+    }
+
+    /**
+     * A Mat to copy the next frame into, or null if every buffer is in use.
+     * Reclaims the oldest queued frame if no free buffer is left.
+     */
+    public Mat acquire() {
+        Mat mat = free.poll();
+        return mat != null ? mat : ready.poll();
+    }
+
+    /** Queue an annotated frame for display, dropping the oldest if full */
+    public void submit(Mat mat, long now) {
+        nextDue = now + periodNanos;
+        while (!ready.offer(mat)) {
+            Mat dropped = ready.poll();
+            if (dropped != null) free.offer(dropped);
+        }
+    }
+
+    private void renderLoop() {
+        try {
+            while (enabled) {
+                Mat mat = ready.poll(100, TimeUnit.MILLISECONDS);
+                if (mat == null) continue;
+                try {
+                    canvas.showImage(converter.convert(mat));
+                } finally {
+                    free.offer(mat);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Stop the render thread and close the window */
+    public void close() {
+        enabled = false;
+        thread.interrupt();
+        canvas.dispose();
+    }
+}
@@ -0,0 +1,107 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the enemy AI step, optionally split across worker threads. The enemy
+ * list is cut into contiguous partitions, one per worker; each worker writes
+ * its shots into its own buffer, and the buffers are appended in partition
+ * order afterwards. The resulting shot list therefore has exactly the order
+ * the sequential loop produces, so switching modes mid-game or replaying a
+ * seed gives the same bullets.
+ * <p>
+ * During the phase the player and maze are only read: the player has already
+ * moved for this step and nothing else mutates it until the phase ends.
+ * Small enemy counts always run sequentially since handing off to the pool
+ * costs more than it saves, and the pool's threads are only started the
+ * first time a step actually runs in parallel.
+ */
+public class EnemyUpdater {
+
+    private final int threads;
+    private final int minParallelEnemies;
+    private ExecutorService executor; // created on first parallel step
+    private final List<Callable<Void>> tasks = new ArrayList<>();
+    private final List<List<Bullet>> shotBuffers = new ArrayList<>();
+    private volatile boolean parallel;
+
+    // Inputs for the current phase, read by the partition tasks
+    private List<Enemy> phaseEnemies;
+    private Player phasePlayer;
+    private float phaseDt;
+
+    public EnemyUpdater(int threads, int minParallelEnemies, boolean parallel) {
+        this.threads = Math.max(2, threads);
+        this.minParallelEnemies = minParallelEnemies;
+        this.parallel = parallel;
+        for (int i = 0; i < this.threads; i++) {
+            final int part = i;
+            final List<Bullet> buffer = new ArrayList<>();
+            shotBuffers.add(buffer);
+            tasks.add(() -> {
+                int size = phaseEnemies.size();
+                int from = (int) ((long) size * part / this.threads);
+                int to = (int) ((long) size * (part + 1) / this.threads);
+                for (int j = from; j < to; j++) {
+                    phaseEnemies.get(j).update(phaseDt, phasePlayer, buffer);
+                }
+                return null;
+            });
+        }
+    }
+
+    /** Step every enemy by {@code dt}, appending their new shots to {@code shots} in enemy order */
+    public void update(List<Enemy> enemies, Player player, float dt, List<Bullet> shots) {
+        if (!parallel || enemies.size() < minParallelEnemies) {
+            for (int j = 0; j < enemies.size(); j++) {
+                enemies.get(j).update(dt, player, shots);
+            }
+            return;
+        }
+
+        phaseEnemies = enemies;
+        phasePlayer = player;
+        phaseDt = dt;
+        for (List<Bullet> buffer : shotBuffers) buffer.clear();
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "enemy-update");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        try {
+            for (Future<Void> f : executor.invokeAll(tasks)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Enemy update failed", e.getCause());
+        } finally {
+            phaseEnemies = null;
+            phasePlayer = null;
+        }
+
+        // Merge in partition order so the result matches the sequential loop
+        for (List<Bullet> buffer : shotBuffers) shots.addAll(buffer);
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public void shutdown() {
+        if (executor != null) executor.shutdownNow();
+    }
+}
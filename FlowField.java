@@ -0,0 +1,173 @@
+package game;
+
+import java.util.Arrays;
+
+/**
+ * Shared path-finding towards the player: a breadth-first distance map over
+ * the maze plus, for every open cell, the neighbour one step closer. Enemies
+ * then steer with a single array lookup instead of each searching the maze.
+ * <p>
+ * The map is only rebuilt when the player enters a new cell. A rebuild is
+ * spread over {@link #advance(int)} calls with a per-call cell budget and
+ * written into a second buffer, so on huge arenas enemies keep following the
+ * previous map for a few steps rather than the frame stalling on a full BFS.
+ * A rebuild in progress always runs to completion: if the player moves on
+ * meanwhile, only the newest cell is remembered and the next rebuild starts
+ * from it once the current map is published. Cells are marked per rebuild
+ * with a generation stamp, so starting one never clears the whole grid.
+ */
+public class FlowField {
+
+    public static final int NONE = -1;
+
+    // Directions: north, south, west, east (row grows downwards)
+    private static final int[] DR = { -1, 1, 0, 0 };
+    private static final int[] DC = { 0, 0, -1, 1 };
+
+    private final MazeGrid grid;
+    private final int rows;
+    private final int cols;
+
+    // Published map and the one being built; a cell is only set in a map if
+    // its stamp equals that map's generation
+    private int[] dist;
+    private byte[] next;
+    private int[] stamp;
+    private int[] workDist;
+    private byte[] workNext;
+    private int[] workStamp;
+    private int generation = 0;
+    private int publishedGeneration = -1;
+    private int workGeneration;
+
+    private final int[] queue;
+    private int head, tail;
+    private boolean building;
+
+    // Cell of the map being built (or last published), and the newest request
+    private int targetRow = -1, targetCol = -1;
+    private int wantedRow = -1, wantedCol = -1;
+    private int rebuilds;
+
+    public FlowField(MazeGrid grid) {
+        this.grid = grid;
+        this.rows = grid.rows();
+        this.cols = grid.cols();
+        int cells = rows * cols;
+        this.dist = new int[cells];
+        this.next = new byte[cells];
+        this.stamp = new int[cells];
+        this.workDist = new int[cells];
+        this.workNext = new byte[cells];
+        this.workStamp = new int[cells];
+        this.queue = new int[cells];
+    }
+
+    /**
+     * Point the field at (row, col). The rebuild starts on the next
+     * {@link #advance(int)} once any rebuild in progress has been published.
+     */
+    public void setTarget(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols || grid.isWall(row, col)) return;
+        wantedRow = row;
+        wantedCol = col;
+    }
+
+    private void startBuild() {
+        targetRow = wantedRow;
+        targetCol = wantedCol;
+        if (++generation == Integer.MAX_VALUE) {
+            // Stamps are about to repeat; wipe them once and start over
+            Arrays.fill(stamp, 0);
+            Arrays.fill(workStamp, 0);
+            publishedGeneration = -1;
+            generation = 1;
+        }
+        workGeneration = generation;
+
+        int start = targetRow * cols + targetCol;
+        workStamp[start] = workGeneration;
+        workDist[start] = 0;
+        workNext[start] = (byte) NONE;
+        head = 0;
+        tail = 0;
+        queue[tail++] = start;
+        building = true;
+    }
+
+    /**
+     * Expand up to {@code budget} cells of a pending rebuild, publishing the
+     * new map once it is complete. Returns true when a new map was published.
+     */
+    public boolean advance(int budget) {
+        if (!building) {
+            if (wantedRow == targetRow && wantedCol == targetCol) return false;
+            startBuild();
+        }
+
+        int[] d = workDist;
+        byte[] n = workNext;
+        int[] st = workStamp;
+        int gen = workGeneration;
+        while (head < tail && budget-- > 0) {
+            int cell = queue[head++];
+            int r = cell / cols, c = cell % cols;
+            for (int dir = 0; dir < 4; dir++) {
+                int nr = r + DR[dir], nc = c + DC[dir];
+                if (grid.isWall(nr, nc)) continue;
+                int neighbour = nr * cols + nc;
+                if (st[neighbour] == gen) continue;
+                st[neighbour] = gen;
+                d[neighbour] = d[cell] + 1;
+                n[neighbour] = (byte) (dir ^ 1); // reverse: from the neighbour back towards cell
+                queue[tail++] = neighbour;
+            }
+        }
+        if (head < tail) return false;
+
+        workDist = dist;
+        workNext = next;
+        workStamp = stamp;
+        dist = d;
+        next = n;
+        stamp = st;
+        publishedGeneration = gen;
+        building = false;
+        rebuilds++;
+        return true;
+    }
+
+    /** Steps from (row, col) to the target, or {@link #NONE} if unreachable or not yet known */
+    public int distance(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) return NONE;
+        int cell = row * cols + col;
+        return stamp[cell] == publishedGeneration ? dist[cell] : NONE;
+    }
+
+    /** Row offset (-1, 0 or 1) of the next cell towards the target */
+    public int stepRow(int row, int col) {
+        int dir = direction(row, col);
+        return dir == NONE ? 0 : DR[dir];
+    }
+
+    /** Column offset (-1, 0 or 1) of the next cell towards the target */
+    public int stepCol(int row, int col) {
+        int dir = direction(row, col);
+        return dir == NONE ? 0 : DC[dir];
+    }
+
+    private int direction(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) return NONE;
+        int cell = row * cols + col;
+        return stamp[cell] == publishedGeneration ? next[cell] : NONE;
+    }
+
+    public boolean isBuilding() {
+        return building;
+    }
+
+    /** Number of maps published so far */
+    public int getRebuilds() {
+        return rebuilds;
+    }
+}
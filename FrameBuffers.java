@@ -0,0 +1,51 @@
+package game;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bytedeco.javacpp.Pointer;
+import org.bytedeco.javacv.OpenCVFrameConverter;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Point;
+import org.bytedeco.opencv.opencv_core.Rect;
+import org.bytedeco.opencv.opencv_core.Size;
+
+/**
+ * Per-thread pool of the native buffers used by the gesture path. Each
+ * thread gets one set on first use and keeps reusing it, so the steady
+ * state allocates no new Mats, converters or geometry objects. OpenCV
+ * reuses a destination Mat's storage as long as size and type match.
+ */
+public final class FrameBuffers {
+
+    private static final AtomicLong allocations = new AtomicLong();
+    private static final ThreadLocal<FrameBuffers> LOCAL = ThreadLocal.withInitial(FrameBuffers::new);
+
+    public final OpenCVFrameConverter.ToMat converter = new OpenCVFrameConverter.ToMat();
+    public final Mat gray = new Mat();
+    public final Mat small = new Mat();
+    public final Size size = new Size();
+    // Header re-pointed at the detection frame each time it is cropped
+    public final Mat roiView = new Mat();
+    public final Rect overlay = new Rect();
+    public final Point textOrigin = new Point();
+
+    private FrameBuffers() {
+        allocations.incrementAndGet();
+    }
+
+    /** Buffers owned by the calling thread */
+    public static FrameBuffers get() {
+        return LOCAL.get();
+    }
+
+    /** Number of buffer sets created so far; stays flat once all threads are warm */
+    public static long allocations() {
+        return allocations.get();
+    }
+
+    /** One-line summary of buffer sets and JavaCPP-tracked native memory */
+    public static String report() {
+        return String.format("gesture buffers: %d sets, native %d KB tracked, %d MB physical",
+                allocations(), Pointer.totalBytes() / 1024, Pointer.physicalBytes() / (1024 * 1024));
+    }
+}
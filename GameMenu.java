@@ -6,6 +6,7 @@ import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.ArrayList;
@@ -21,6 +22,9 @@ import javax.swing.Timer;
 public class GameMenu extends JPanel
         implements ActionListener, SettingsChangeListener {
 
+    private static final Font TITLE_FONT = new Font("Monospaced", Font.BOLD, 48);
+    private static final String TITLE = "IRON VANGUARD";
+
     private Timer timer;
     private JButton playButton, settingsButton, rulesButton, exitButton;
 
@@ -39,6 +43,10 @@ public class GameMenu extends JPanel
     /** Brightness level 1–10 */
     private int brightnessLevel = 10;
 
+    // Sky, floor and title, redrawn only when brightness or size changes
+    private BufferedImage staticLayer;
+    private int layerBrightness = -1;
+
     public GameMenu() {
         setLayout(null);
 
@@ -115,63 +123,80 @@ public class GameMenu extends JPanel
     public void onBrightnessChanged(int level) {
         brightnessLevel = Math.max(1, Math.min(10, level));
         System.out.println("Brightness set to: " + brightnessLevel);
+        repaint(); // the static layer is rebuilt on the next paint
     }
     // === SettingsChangeListener Over ===
 
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
         Graphics2D g2 = (Graphics2D) g;
 
-        // Adjust sky color based on brightness level
-        int baseR = 135, baseG = 206, baseB = 235;
-        float f = brightnessLevel / 10f;
-        int r = (int)(baseR * f), gg = (int)(baseG * f), b = (int)(baseB * f);
-        g2.setColor(new Color(r, gg, b));
-        g2.fillRect(0, 0, getWidth(), getHeight());
-
-        // Floor
-        g2.setColor(new Color(34, 139, 34));
-        g2.fillRect(0, getHeight() - 150, getWidth(), 150);
+        // The layer covers the whole panel, so no background fill is needed
+        g2.drawImage(staticLayer(), 0, 0, null);
 
-        // Tank and title
+        // Moving parts; Swing clips this to the tick's merged dirty region
         drawTank(g2);
-        drawTitle(g2);
+        drawEffects(explosions,  g2);
+        drawEffects(smokeTrails, g2);
+        drawEffects(gunfires,    g2);
+    }
 
-        // Effects
-        updateAndDraw(explosions,   g2);
-        updateAndDraw(smokeTrails,  g2);
-        updateAndDraw(gunfires,     g2);
+    private BufferedImage staticLayer() {
+        int w = Math.max(1, getWidth()), h = Math.max(1, getHeight());
+        if (staticLayer == null || staticLayer.getWidth() != w || staticLayer.getHeight() != h
+                || layerBrightness != brightnessLevel) {
+            staticLayer = getGraphicsConfiguration() != null
+                ? getGraphicsConfiguration().createCompatibleImage(w, h)
+                : new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            layerBrightness = brightnessLevel;
+
+            Graphics2D g2 = staticLayer.createGraphics();
+            // Adjust sky color based on brightness level
+            int baseR = 135, baseG = 206, baseB = 235;
+            float f = brightnessLevel / 10f;
+            int r = (int)(baseR * f), gg = (int)(baseG * f), b = (int)(baseB * f);
+            g2.setColor(new Color(r, gg, b));
+            g2.fillRect(0, 0, w, h);
+
+            // Floor
+            g2.setColor(new Color(34, 139, 34));
+            g2.fillRect(0, h - 150, w, 150);
+
+            drawTitle(g2);
+            g2.dispose();
+        }
+        return staticLayer;
+    }
 
-        // Randomly generate new effects
-        if (rand.nextInt(20) == 0) explosions.add(new Explosion());
-        if (rand.nextInt(10) == 0) smokeTrails.add(new SmokeTrail());
-        if (rand.nextInt( 6) == 0) gunfires.add(new Gunfire());
+    private <T extends Effect> void drawEffects(java.util.List<T> list, Graphics2D g) {
+        for (T e : list) {
+            e.draw(g);
+        }
     }
 
-    private <T extends Effect> void updateAndDraw(java.util.List<T> list, Graphics2D g) {
+    /** Step every effect, repainting where it was and where it is now */
+    private <T extends Effect> void updateEffects(java.util.List<T> list) {
         for (Iterator<T> it = list.iterator(); it.hasNext(); ) {
             T e = it.next();
+            e.repaintArea();
             e.update();
-            e.draw(g);
             if (e.isDone()) it.remove();
+            else e.repaintArea();
         }
     }
 
     private void drawTitle(Graphics2D g2) {
-        String title = "IRON VANGUARD";
-        Font font = new Font("Monospaced", Font.BOLD, 48);
-        g2.setFont(font);
+        g2.setFont(TITLE_FONT);
         g2.setRenderingHint(
             RenderingHints.KEY_TEXT_ANTIALIASING,
             RenderingHints.VALUE_TEXT_ANTIALIAS_ON
         );
-        FontMetrics fm = g2.getFontMetrics(font);
-        int w = fm.stringWidth(title), x = (getWidth() - w) / 2, y = 100;
+        FontMetrics fm = g2.getFontMetrics(TITLE_FONT);
+        int w = fm.stringWidth(TITLE), x = (getWidth() - w) / 2, y = 100;
         g2.setColor(Color.DARK_GRAY);
-        g2.drawString(title, x + 3, y + 3);
+        g2.drawString(TITLE, x + 3, y + 3);
         g2.setColor(Color.GREEN.darker());
-        g2.drawString(title, x, y);
+        g2.drawString(TITLE, x, y);
     }
 
     private void drawTank(Graphics2D g) {
@@ -185,15 +210,44 @@ public class GameMenu extends JPanel
         }
     }
 
+    // Each repaint(x, y, w, h) in a tick only marks a rectangle dirty.
+    // RepaintManager merges all of them into one bounding rectangle before
+    // painting, and effects spawn anywhere on the panel, so a tick often
+    // still repaints most of it. What the cached static layer saves is the
+    // work per repainted pixel: one image blit instead of redrawing the sky,
+    // floor and antialiased title.
     @Override
     public void actionPerformed(ActionEvent e) {
+        repaintTank();
         tankX += 2;
         if (tankX > getWidth()) tankX = -120;
+        repaintTank();
+
+        // Clouds are tracked but not drawn, so they need no repaint
         for (Cloud c : clouds) {
             c.x -= 1;
             if (c.x < -100) c.x = getWidth();
         }
-        repaint();
+
+        // Effects
+        updateEffects(explosions);
+        updateEffects(smokeTrails);
+        updateEffects(gunfires);
+
+        // Randomly generate new effects
+        if (rand.nextInt(20) == 0) spawn(explosions,  new Explosion());
+        if (rand.nextInt(10) == 0) spawn(smokeTrails, new SmokeTrail());
+        if (rand.nextInt( 6) == 0) spawn(gunfires,    new Gunfire());
+    }
+
+    private <T extends Effect> void spawn(java.util.List<T> list, T effect) {
+        list.add(effect);
+        effect.repaintArea();
+    }
+
+    /** Body, turret, barrel and wheels */
+    private void repaintTank() {
+        repaint(tankX, tankY - 20, 106, 61);
     }
 
     public static void main(String[] args) {
@@ -212,6 +266,8 @@ public class GameMenu extends JPanel
         abstract void update();
         abstract void draw(Graphics2D g);
         abstract boolean isDone();
+        /** Request a repaint of the area the effect currently covers */
+        abstract void repaintArea();
     }
 
     public class Explosion extends Effect {
@@ -224,6 +280,7 @@ public class GameMenu extends JPanel
             g.fillOval(x - radius/2, y - radius/2, radius, radius);
         }
         boolean isDone() { return done; }
+        void repaintArea() { repaint(x - radius/2, y - radius/2, radius + 1, radius + 1); }
     }
 
     public class SmokeTrail extends Effect {
@@ -235,6 +292,7 @@ public class GameMenu extends JPanel
             g.fillOval(x, y, size, size);
         }
         boolean isDone() { return alpha <= 0; }
+        void repaintArea() { repaint(x, y, size + 1, size + 1); }
     }
 
     public class Gunfire extends Effect {
@@ -246,6 +304,7 @@ public class GameMenu extends JPanel
             g.drawLine(x, y, x, y - length);
         }
         boolean isDone() { return length <= 0; }
+        void repaintArea() { repaint(x, y - length, 1, length + 1); }
     }
 
     static class Cloud {
@@ -1,6 +1,7 @@
 package game;
 
 public enum GameState {
+    LOADING,
     MENU,
     PLAYING,
     PAUSED,
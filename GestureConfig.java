@@ -0,0 +1,190 @@
+package game;
+
+/**
+ * Tunables for the webcam gesture pipeline. Defaults can be overridden with
+ * system properties (e.g. {@code -Dgesture.parallelism=1}).
+ */
+public class GestureConfig {
+
+    // Threads used to evaluate the four cascades; 1 = sequential
+    private int parallelism = Integer.getInteger("gesture.parallelism",
+            Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    // Every Nth frame is also classified on the other path for latency comparison; 0 = off
+    private int compareInterval = Integer.getInteger("gesture.compareInterval", 0);
+
+    // Log buffer and native memory usage every this many frames; 0 = off
+    private int memoryReportInterval = Integer.getInteger("gesture.memoryReportInterval", 0);
+
+    // Webcam preview window, rate-limited to previewFps
+    private boolean previewEnabled = Boolean.parseBoolean(System.getProperty("gesture.preview", "true"));
+    private int previewFps = Integer.getInteger("gesture.previewFps", 10);
+
+    // Gray frame is downscaled to this width before detection; 0 = full resolution
+    private int targetWidth = Integer.getInteger("gesture.targetWidth", 320);
+
+    // Restrict detection to a window around the last hit
+    private boolean roiEnabled = Boolean.parseBoolean(System.getProperty("gesture.roi", "true"));
+    private float roiMargin = 0.5f;
+    private int roiMissesBeforeWiden = 5;
+
+    // detectMultiScale parameters; sizes are in downscaled pixels, 0 = no limit
+    private double scaleFactor = 1.1;
+    private int minNeighbors = 3;
+    private int minObjectSize = 24;
+    private int maxObjectSize = 0;
+
+    // Detection passes per second; 0 = as fast as the camera delivers
+    private int detectionHz = Integer.getInteger("gesture.detectionHz", 15);
+
+    // Debouncing: active after N hits in the last M detection frames
+    private int voteWindow = 5;
+    private int voteThreshold = 3;
+    private float releaseConfidence = 0.3f;
+    private int smoothingMillis = 150;
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public int getCompareInterval() {
+        return compareInterval;
+    }
+
+    public void setCompareInterval(int compareInterval) {
+        this.compareInterval = Math.max(0, compareInterval);
+    }
+
+    public int getMemoryReportInterval() {
+        return memoryReportInterval;
+    }
+
+    public void setMemoryReportInterval(int memoryReportInterval) {
+        this.memoryReportInterval = Math.max(0, memoryReportInterval);
+    }
+
+    public boolean isPreviewEnabled() {
+        return previewEnabled;
+    }
+
+    public void setPreviewEnabled(boolean previewEnabled) {
+        this.previewEnabled = previewEnabled;
+    }
+
+    public int getPreviewFps() {
+        return previewFps;
+    }
+
+    public void setPreviewFps(int previewFps) {
+        this.previewFps = Math.max(1, previewFps);
+    }
+
+    public int getTargetWidth() {
+        return targetWidth;
+    }
+
+    public void setTargetWidth(int targetWidth) {
+        this.targetWidth = Math.max(0, targetWidth);
+    }
+
+    public boolean isRoiEnabled() {
+        return roiEnabled;
+    }
+
+    public void setRoiEnabled(boolean roiEnabled) {
+        this.roiEnabled = roiEnabled;
+    }
+
+    public float getRoiMargin() {
+        return roiMargin;
+    }
+
+    public void setRoiMargin(float roiMargin) {
+        this.roiMargin = Math.max(0f, roiMargin);
+    }
+
+    public int getRoiMissesBeforeWiden() {
+        return roiMissesBeforeWiden;
+    }
+
+    public void setRoiMissesBeforeWiden(int roiMissesBeforeWiden) {
+        this.roiMissesBeforeWiden = Math.max(1, roiMissesBeforeWiden);
+    }
+
+    public double getScaleFactor() {
+        return scaleFactor;
+    }
+
+    public void setScaleFactor(double scaleFactor) {
+        if (scaleFactor <= 1.0) throw new IllegalArgumentException("scaleFactor must be > 1");
+        this.scaleFactor = scaleFactor;
+    }
+
+    public int getMinNeighbors() {
+        return minNeighbors;
+    }
+
+    public void setMinNeighbors(int minNeighbors) {
+        this.minNeighbors = Math.max(0, minNeighbors);
+    }
+
+    public int getMinObjectSize() {
+        return minObjectSize;
+    }
+
+    public void setMinObjectSize(int minObjectSize) {
+        this.minObjectSize = Math.max(0, minObjectSize);
+    }
+
+    public int getMaxObjectSize() {
+        return maxObjectSize;
+    }
+
+    public void setMaxObjectSize(int maxObjectSize) {
+        this.maxObjectSize = Math.max(0, maxObjectSize);
+    }
+
+    public int getDetectionHz() {
+        return detectionHz;
+    }
+
+    public void setDetectionHz(int detectionHz) {
+        this.detectionHz = Math.max(0, detectionHz);
+    }
+
+    public int getVoteWindow() {
+        return voteWindow;
+    }
+
+    public void setVoteWindow(int voteWindow) {
+        this.voteWindow = Math.max(1, voteWindow);
+    }
+
+    public int getVoteThreshold() {
+        return voteThreshold;
+    }
+
+    public void setVoteThreshold(int voteThreshold) {
+        this.voteThreshold = Math.max(1, voteThreshold);
+    }
+
+    public float getReleaseConfidence() {
+        return releaseConfidence;
+    }
+
+    public void setReleaseConfidence(float releaseConfidence) {
+        this.releaseConfidence = Math.max(0f, Math.min(1f, releaseConfidence));
+    }
+
+    public int getSmoothingMillis() {
+        return smoothingMillis;
+    }
+
+    public void setSmoothingMillis(int smoothingMillis) {
+        this.smoothingMillis = Math.max(0, smoothingMillis);
+    }
+}
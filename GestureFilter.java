@@ -0,0 +1,94 @@
+package game;
+
+/**
+ * Debounces raw gesture snapshots into stable per-direction input.
+ * <p>
+ * Each new detection frame casts one vote per direction into a window of
+ * the last M frames. A direction becomes active once it has at least N
+ * hits in that window. Its confidence (the hit fraction) is eased toward
+ * every render frame, and it is released only once the vote falls short
+ * and the smoothed confidence drops below the release threshold.
+ * Detection can therefore run well below the render rate without the
+ * tank stuttering.
+ */
+public class GestureFilter {
+
+    private static final int DIRECTIONS = 4;
+
+    private final int window;
+    private final int threshold;
+    private final float releaseConfidence;
+    private final float smoothingSeconds;
+
+    private final int[] votes = new int[DIRECTIONS];      // bit i = hit i frames ago
+    private final float[] target = new float[DIRECTIONS];
+    private final float[] confidence = new float[DIRECTIONS];
+    private final boolean[] active = new boolean[DIRECTIONS];
+    private long lastCapturedAt = -1;
+
+    public GestureFilter(GestureConfig config) {
+        this.window = Math.min(31, Math.max(1, config.getVoteWindow()));
+        this.threshold = Math.min(window, Math.max(1, config.getVoteThreshold()));
+        this.releaseConfidence = config.getReleaseConfidence();
+        this.smoothingSeconds = config.getSmoothingMillis() / 1000f;
+    }
+
+    /**
+     * Advance the filter by one render frame.
+     * @param snapshot latest snapshot; only counted once per captured frame
+     * @param dt       seconds since the previous call
+     */
+    public void update(GestureSnapshot snapshot, float dt) {
+        if (snapshot == GestureSnapshot.NONE) {
+            // No fresh detections: drop the votes and let confidence decay
+            for (int d = 0; d < DIRECTIONS; d++) {
+                votes[d] = 0;
+                target[d] = 0f;
+            }
+        } else if (snapshot.capturedAt != lastCapturedAt) {
+            lastCapturedAt = snapshot.capturedAt;
+            vote(GesturePipeline.LEFT, snapshot.left);
+            vote(GesturePipeline.RIGHT, snapshot.right);
+            vote(GesturePipeline.UP, snapshot.up);
+            vote(GesturePipeline.DOWN, snapshot.down);
+        }
+
+        float blend = smoothingSeconds <= 0f ? 1f : Math.min(1f, dt / smoothingSeconds);
+        for (int d = 0; d < DIRECTIONS; d++) {
+            confidence[d] += (target[d] - confidence[d]) * blend;
+            boolean enough = Integer.bitCount(votes[d]) >= threshold;
+            if (!active[d] && enough) {
+                active[d] = true;
+            } else if (active[d] && !enough && confidence[d] < releaseConfidence) {
+                active[d] = false;
+            }
+        }
+    }
+
+    private void vote(int direction, boolean hit) {
+        int mask = (1 << window) - 1;
+        votes[direction] = ((votes[direction] << 1) | (hit ? 1 : 0)) & mask;
+        target[direction] = Integer.bitCount(votes[direction]) / (float) window;
+    }
+
+    /** @param direction one of the {@link GesturePipeline} direction constants */
+    public boolean isActive(int direction) {
+        return active[direction];
+    }
+
+    /** Smoothed confidence in [0, 1] for the given direction */
+    public float getConfidence(int direction) {
+        return confidence[direction];
+    }
+
+    /** Forget all votes, e.g. when a new level starts */
+    public void reset() {
+        for (int d = 0; d < DIRECTIONS; d++) {
+            votes[d] = 0;
+            target[d] = 0f;
+            confidence[d] = 0f;
+            active[d] = false;
+        }
+        lastCapturedAt = -1;
+    }
+}
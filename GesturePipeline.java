@@ -0,0 +1,346 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.FrameGrabber;
+import org.bytedeco.javacv.OpenCVFrameGrabber;
+import org.bytedeco.opencv.global.opencv_imgproc;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Rect;
+import org.bytedeco.opencv.opencv_core.RectVector;
+import org.bytedeco.opencv.opencv_core.Scalar;
+import org.bytedeco.opencv.opencv_core.Size;
+import org.bytedeco.opencv.opencv_objdetect.CascadeClassifier;
+
+/**
+ * Webcam gesture recognition. Each call to {@link #capture()} grabs exactly
+ * one frame, converts it to grayscale once and runs all four direction
+ * cascades against that shared image, either one after another or
+ * concurrently on a small pool depending on {@link GestureConfig}.
+ * <p>
+ * Detection runs on a copy of the gray frame downscaled to the configured
+ * width, optionally cropped to a {@link GestureRoi} around the last hit.
+ * Hits are mapped back to full-frame coordinates for the debug overlay.
+ * All native buffers come from the calling thread's {@link FrameBuffers},
+ * and the parallel hand-off parks and unparks fixed worker threads, so a
+ * steady-state frame creates no Mats, Rects, futures or task lists.
+ * The optional {@link DebugPreview} receives annotated copies at its own
+ * rate; no annotation is drawn while it is closed or disabled.
+ */
+public class GesturePipeline {
+
+    public static final int LEFT = 0;
+    public static final int RIGHT = 1;
+    public static final int UP = 2;
+    public static final int DOWN = 3;
+
+    private static final String[] LABELS = {"Left", "Right", "Up", "Down"};
+    // Classpath resources, loaded through the AssetManager
+    public static final String[] CASCADE_RESOURCES = {
+        "cascade/left.xml",
+        "cascade/right.xml",
+        "cascade/up.xml",
+        "cascade/down.xml"
+    };
+
+    // Print latency comparison every this many frames when comparison is on
+    private static final int REPORT_INTERVAL = 300;
+
+    private final int cameraIndex;
+    private final GestureConfig config;
+    private final AssetManager assets;
+    private OpenCVFrameGrabber grabber;
+    private final CascadeClassifier[] cascades = new CascadeClassifier[LABELS.length];
+    private final RectVector[] detections = new RectVector[LABELS.length];
+    private DebugPreview preview;
+    private final boolean[] hits = new boolean[LABELS.length];
+
+    // Parallel cascade evaluation. Workers claim cascades from nextCascade
+    // and the capturing thread helps, then parks until pending reaches zero
+    private Thread[] cascadeWorkers;
+    private Thread cascadeCaller;
+    private volatile int cascadeRound;
+    private volatile boolean cascadesStopped;
+    private final AtomicInteger nextCascade = new AtomicInteger(Integer.MAX_VALUE);
+    private final AtomicInteger cascadesPending = new AtomicInteger();
+    private volatile RuntimeException cascadeFailure;
+    private Mat detectInput;
+
+    // Downscaling and region of interest
+    private GestureRoi roi;
+    private final Size minSize = new Size();
+    private final Size maxSize = new Size();
+
+    // Per-frame classification latency for each path
+    private final LatencyStats sequentialLatency = new LatencyStats("cascades sequential", 256);
+    private final LatencyStats parallelLatency = new LatencyStats("cascades parallel", 256);
+    private long frameCount = 0;
+
+    public GesturePipeline(int cameraIndex, GestureConfig config, AssetManager assets) {
+        this.cameraIndex = cameraIndex;
+        this.config = config;
+        this.assets = assets;
+    }
+
+    /** Start the webcam, open the preview window if enabled and load the cascades */
+    public void start() {
+        // Request the cascades first so they load while the camera opens
+        List<Future<CascadeClassifier>> pending = new ArrayList<>();
+        for (String resource : CASCADE_RESOURCES) {
+            pending.add(assets.cascade(resource));
+        }
+
+        grabber = new OpenCVFrameGrabber(cameraIndex);
+        try {
+            grabber.start();
+            if (config.isPreviewEnabled()) {
+                preview = new DebugPreview("Webcam Preview", grabber.getImageWidth(), grabber.getImageHeight(),
+                        config.getPreviewFps());
+            }
+        } catch (FrameGrabber.Exception e) {
+            e.printStackTrace();
+        }
+
+        for (int i = 0; i < cascades.length; i++) {
+            try {
+                cascades[i] = pending.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cascades[i] = new CascadeClassifier();
+            } catch (ExecutionException e) {
+                System.err.println("Could not load cascade " + CASCADE_RESOURCES[i] + ": " + e.getCause());
+                cascades[i] = new CascadeClassifier();
+            }
+            detections[i] = new RectVector();
+        }
+        roi = new GestureRoi(config.getRoiMargin(), config.getRoiMissesBeforeWiden(), config.getMinObjectSize() * 2);
+
+        int threads = Math.min(config.getParallelism(), cascades.length);
+        if (threads > 1 || config.getCompareInterval() > 0) {
+            // The capturing thread is one of the threads
+            cascadeWorkers = new Thread[Math.max(threads, 2) - 1];
+            for (int i = 0; i < cascadeWorkers.length; i++) {
+                cascadeWorkers[i] = new Thread(this::cascadeLoop, "gesture-cascade");
+                cascadeWorkers[i].setDaemon(true);
+                cascadeWorkers[i].start();
+            }
+        }
+    }
+
+    private void cascadeLoop() {
+        int seen = 0;
+        while (!cascadesStopped) {
+            int round = cascadeRound;
+            if (round == seen) {
+                LockSupport.park(this);
+                continue;
+            }
+            seen = round;
+            runCascades();
+        }
+    }
+
+    /** Claim and run cascades of the current round until none are left */
+    private void runCascades() {
+        int c;
+        while ((c = nextCascade.getAndIncrement()) < cascades.length) {
+            try {
+                detect(c, detectInput);
+            } catch (RuntimeException e) {
+                cascadeFailure = e;
+            }
+            if (cascadesPending.decrementAndGet() == 0) LockSupport.unpark(cascadeCaller);
+        }
+    }
+
+    /**
+     * Grab one frame and classify it against every cascade.
+     * @return the gestures seen on this frame, or {@link GestureSnapshot#NONE}
+     */
+    public GestureSnapshot capture() {
+        try {
+            Frame frame = grabber.grab();
+            if (frame == null) return GestureSnapshot.NONE;
+            long capturedAt = System.nanoTime();
+
+            FrameBuffers buffers = FrameBuffers.get();
+            Mat frameMat = buffers.converter.convert(frame);
+            if (frameMat == null || frameMat.empty()) return GestureSnapshot.NONE;
+
+            // Grayscale conversion is shared by all four cascades
+            Mat gray = buffers.gray;
+            opencv_imgproc.cvtColor(frameMat, gray, opencv_imgproc.COLOR_BGR2GRAY);
+
+            // Downscale to the detection width
+            Mat detectFrame = gray;
+            double scale = 1.0;
+            int targetWidth = config.getTargetWidth();
+            if (targetWidth > 0 && gray.cols() > targetWidth) {
+                scale = targetWidth / (double) gray.cols();
+                detectFrame = buffers.small;
+                buffers.size.width(targetWidth).height((int) Math.round(gray.rows() * scale));
+                opencv_imgproc.resize(gray, detectFrame, buffers.size, 0, 0, opencv_imgproc.INTER_AREA);
+            }
+
+            // Crop to the window around the last hit, if any, by pointing the
+            // thread's reusable header at the frame and shrinking its ROI in place
+            Mat input = detectFrame;
+            int offX = 0, offY = 0;
+            boolean cropped = config.isRoiEnabled() && roi.region(detectFrame.cols(), detectFrame.rows());
+            if (cropped) {
+                offX = roi.x();
+                offY = roi.y();
+                input = buffers.roiView;
+                input.put(detectFrame);
+                input.adjustROI(-offY, -(detectFrame.rows() - offY - roi.height()),
+                        -offX, -(detectFrame.cols() - offX - roi.width()));
+            }
+
+            minSize.width(config.getMinObjectSize()).height(config.getMinObjectSize());
+            maxSize.width(config.getMaxObjectSize()).height(config.getMaxObjectSize());
+
+            boolean parallel = cascadeWorkers != null && config.getParallelism() > 1;
+            classify(input, parallel);
+
+            // Periodically time the other path on the same frame for comparison
+            frameCount++;
+            int compare = config.getCompareInterval();
+            if (compare > 0 && frameCount % compare == 0) {
+                classify(input, !parallel);
+                if (frameCount % REPORT_INTERVAL < compare) {
+                    System.out.println(sequentialLatency);
+                    System.out.println(parallelLatency);
+                }
+            }
+
+            int memoryReport = config.getMemoryReportInterval();
+            if (memoryReport > 0 && frameCount % memoryReport == 0) {
+                System.out.println(FrameBuffers.report());
+            }
+
+            // Annotate a copy of the frame only when the preview wants one
+            Mat overlay = null;
+            if (preview != null && preview.wantsFrame(capturedAt)) {
+                overlay = preview.acquire();
+                if (overlay != null) frameMat.copyTo(overlay);
+            }
+
+            // Collect hits; track their union in detection coordinates for the ROI
+            Rect full = buffers.overlay;
+            int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = 0, maxY = 0;
+            for (int c = 0; c < cascades.length; c++) {
+                int count = (int) detections[c].size();
+                hits[c] = count > 0;
+                if (count == 0) continue;
+
+                // The vector's storage is contiguous; walk it through one view of
+                // its first element instead of a copy per hit
+                Rect rect = detections[c].get(0);
+                for (int i = 0; i < count; i++) {
+                    rect.position(i);
+                    int x = rect.x() + offX;
+                    int y = rect.y() + offY;
+                    int w = rect.width();
+                    int h = rect.height();
+                    minX = Math.min(minX, x);
+                    minY = Math.min(minY, y);
+                    maxX = Math.max(maxX, x + w);
+                    maxY = Math.max(maxY, y + h);
+
+                    // Map back to full-frame coordinates for the overlay
+                    if (overlay != null) {
+                        full.x((int) (x / scale)).y((int) (y / scale)).width((int) (w / scale)).height((int) (h / scale));
+                        opencv_imgproc.rectangle(overlay, full, Scalar.RED);
+                        buffers.textOrigin.x(full.x()).y(full.y() - 5);
+                        opencv_imgproc.putText(overlay, LABELS[c], buffers.textOrigin, opencv_imgproc.FONT_HERSHEY_SIMPLEX, 0.7, Scalar.YELLOW);
+                    }
+                }
+            }
+
+            if (overlay != null) {
+                if (cropped) {
+                    full.x((int) (offX / scale)).y((int) (offY / scale))
+                            .width((int) (roi.width() / scale)).height((int) (roi.height() / scale));
+                    opencv_imgproc.rectangle(overlay, full, Scalar.GREEN);
+                }
+                preview.submit(overlay, capturedAt);
+            }
+
+            if (minX != Integer.MAX_VALUE) {
+                roi.hit(minX, minY, maxX - minX, maxY - minY);
+            } else {
+                roi.miss();
+            }
+
+            return new GestureSnapshot(hits[LEFT], hits[RIGHT], hits[UP], hits[DOWN], capturedAt);
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            return GestureSnapshot.NONE;
+        }
+    }
+
+    /** Run every cascade on {@code input}, filling {@link #detections} */
+    private void classify(Mat input, boolean parallel) {
+        long start = System.nanoTime();
+        if (parallel) {
+            detectInput = input;
+            cascadeCaller = Thread.currentThread();
+            cascadeFailure = null;
+            cascadesPending.set(cascades.length);
+            // Publishes the fields above to workers that claim a cascade
+            nextCascade.set(0);
+            cascadeRound++;
+            for (Thread worker : cascadeWorkers) LockSupport.unpark(worker);
+            runCascades();
+            while (cascadesPending.get() > 0) LockSupport.park(this);
+            RuntimeException failure = cascadeFailure;
+            if (failure != null) throw failure;
+            parallelLatency.record(System.nanoTime() - start);
+        } else {
+            for (int c = 0; c < cascades.length; c++) {
+                detect(c, input);
+            }
+            sequentialLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    private void detect(int cascade, Mat input) {
+        cascades[cascade].detectMultiScale(input, detections[cascade], config.getScaleFactor(),
+                config.getMinNeighbors(), 0, minSize, maxSize);
+    }
+
+    public GestureConfig getConfig() {
+        return config;
+    }
+
+    public LatencyStats getSequentialLatency() {
+        return sequentialLatency;
+    }
+
+    public LatencyStats getParallelLatency() {
+        return parallelLatency;
+    }
+
+    /** Release the webcam and close the preview window */
+    public void stop() {
+        if (cascadeWorkers != null) {
+            cascadesStopped = true;
+            for (Thread worker : cascadeWorkers) LockSupport.unpark(worker);
+        }
+        try {
+            if (grabber != null) grabber.stop();
+        } catch (FrameGrabber.Exception e) {
+            e.printStackTrace();
+        }
+        if (preview != null) {
+            preview.close();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package game;
+
+/**
+ * Tracks where the hand was last seen so the cascades only have to scan a
+ * window around it. The window grows with every missed frame and falls
+ * back to the whole frame after {@code missesBeforeWiden} misses in a row.
+ * All coordinates are in detection (downscaled) pixels.
+ */
+public class GestureRoi {
+
+    private final float margin;
+    private final int missesBeforeWiden;
+    private final int minSide;
+
+    private boolean tracking = false;
+    private int lastX, lastY, lastW, lastH;
+    private int misses = 0;
+
+    // Current region, valid after region()
+    private int x, y, w, h;
+
+    /**
+     * @param margin            padding around the last hit, as a fraction of its larger side
+     * @param missesBeforeWiden consecutive misses before scanning the full frame again
+     * @param minSide           smallest region side, so the cascade window still fits
+     */
+    public GestureRoi(float margin, int missesBeforeWiden, int minSide) {
+        this.margin = margin;
+        this.missesBeforeWiden = missesBeforeWiden;
+        this.minSide = minSide;
+    }
+
+    /**
+     * Compute the region to scan in a frame of the given size.
+     * @return false if the whole frame should be scanned
+     */
+    public boolean region(int frameW, int frameH) {
+        if (!tracking) {
+            x = 0; y = 0; w = frameW; h = frameH;
+            return false;
+        }
+
+        int pad = (int) (Math.max(lastW, lastH) * margin * (1 + misses));
+        int cx = lastX + lastW / 2;
+        int cy = lastY + lastH / 2;
+        int halfW = Math.max(lastW / 2 + pad, minSide / 2);
+        int halfH = Math.max(lastH / 2 + pad, minSide / 2);
+
+        x = Math.max(0, cx - halfW);
+        y = Math.max(0, cy - halfH);
+        w = Math.min(frameW, cx + halfW) - x;
+        h = Math.min(frameH, cy + halfH) - y;
+
+        if (w <= 0 || h <= 0 || (w == frameW && h == frameH)) {
+            x = 0; y = 0; w = frameW; h = frameH;
+            return false;
+        }
+        return true;
+    }
+
+    /** Record a frame with a hit at the given rectangle (detection coordinates) */
+    public void hit(int hx, int hy, int hw, int hh) {
+        tracking = true;
+        misses = 0;
+        lastX = hx; lastY = hy; lastW = hw; lastH = hh;
+    }
+
+    /** Record a frame with no hit from any cascade */
+    public void miss() {
+        if (tracking && ++misses >= missesBeforeWiden) {
+            tracking = false;
+            misses = 0;
+        }
+    }
+
+    public int x() { return x; }
+    public int y() { return y; }
+    public int width() { return w; }
+    public int height() { return h; }
+}
@@ -0,0 +1,41 @@
+package game;
+
+/**
+ * Result of one gesture-recognition pass: which of the four direction
+ * cascades fired on the captured frame.
+ */
+public final class GestureSnapshot {
+
+    /** Snapshot used when no frame could be captured */
+    public static final GestureSnapshot NONE = new GestureSnapshot(false, false, false, false, 0L);
+
+    public final boolean left;
+    public final boolean right;
+    public final boolean up;
+    public final boolean down;
+
+    /** System.nanoTime() at which the source frame was grabbed */
+    public final long capturedAt;
+
+    public GestureSnapshot(boolean left, boolean right, boolean up, boolean down, long capturedAt) {
+        this.left = left;
+        this.right = right;
+        this.up = up;
+        this.down = down;
+        this.capturedAt = capturedAt;
+    }
+
+    public boolean any() {
+        return left || right || up || down;
+    }
+
+    /** Age of the source frame in nanoseconds, relative to {@code now} */
+    public long age(long now) {
+        return now - capturedAt;
+    }
+
+    /** True if the source frame is older than {@code maxAgeNanos} */
+    public boolean isStale(long now, long maxAgeNanos) {
+        return this == NONE || age(now) > maxAgeNanos;
+    }
+}
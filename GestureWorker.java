@@ -0,0 +1,92 @@
+package game;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a {@link GesturePipeline} on a dedicated background thread and
+ * publishes the most recent {@link GestureSnapshot} through an atomic
+ * single-slot handoff. The render loop only ever reads the slot, so it
+ * never blocks on the camera or on cascade classification. Passes are
+ * paced to {@link GestureConfig#getDetectionHz()}.
+ */
+public class GestureWorker {
+
+    private final GesturePipeline pipeline;
+    private final long maxAgeNanos;
+    private final AtomicReference<GestureSnapshot> latest = new AtomicReference<>(GestureSnapshot.NONE);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "gesture-worker");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile boolean running;
+
+    /**
+     * @param pipeline     pipeline to drive; started and stopped on the worker thread
+     * @param maxAgeMillis snapshots older than this are reported as stale
+     */
+    public GestureWorker(GesturePipeline pipeline, long maxAgeMillis) {
+        this.pipeline = pipeline;
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+    }
+
+    /** Open the camera and begin classifying frames in the background */
+    public void start() {
+        running = true;
+        executor.execute(this::loop);
+    }
+
+    private void loop() {
+        try {
+            pipeline.start();
+            long next = System.nanoTime();
+            while (running) {
+                GestureSnapshot snapshot = pipeline.capture();
+                if (snapshot != GestureSnapshot.NONE) {
+                    latest.set(snapshot);
+                } else {
+                    // Camera missing or not ready yet; back off instead of spinning
+                    Thread.sleep(10);
+                }
+
+                int hz = pipeline.getConfig().getDetectionHz();
+                if (hz > 0) {
+                    next += 1_000_000_000L / hz;
+                    long wait = next - System.nanoTime();
+                    if (wait > 0) {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    } else {
+                        next = System.nanoTime(); // fell behind; don't try to catch up
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pipeline.stop();
+        }
+    }
+
+    /**
+     * Latest published gestures, or {@link GestureSnapshot#NONE} if the newest
+     * frame is older than the configured maximum age. Never blocks.
+     */
+    public GestureSnapshot latest() {
+        GestureSnapshot snapshot = latest.get();
+        return snapshot.isStale(System.nanoTime(), maxAgeNanos) ? GestureSnapshot.NONE : snapshot;
+    }
+
+    /** Stop the worker and release the camera */
+    public void stop() {
+        running = false;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package game;
+
+import java.util.Arrays;
+
+/**
+ * Rolling window of duration samples. Recording is allocation-free; the
+ * percentile query sorts a copy and is meant for occasional reporting only.
+ */
+public class LatencyStats {
+
+    private final String name;
+    private final long[] samples;
+    private int next = 0;
+    private long count = 0;
+
+    public LatencyStats(String name, int window) {
+        this.name = name;
+        this.samples = new long[window];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count++;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /** Mean of the current window in milliseconds */
+    public synchronized double meanMillis() {
+        int n = (int) Math.min(count, samples.length);
+        if (n == 0) return 0;
+        long sum = 0;
+        for (int i = 0; i < n; i++) sum += samples[i];
+        return sum / (double) n / 1_000_000.0;
+    }
+
+    /** Percentile (0-100) of the current window in milliseconds */
+    public synchronized double percentileMillis(double p) {
+        int n = (int) Math.min(count, samples.length);
+        if (n == 0) return 0;
+        long[] sorted = Arrays.copyOf(samples, n);
+        Arrays.sort(sorted);
+        int idx = (int) Math.min(n - 1, Math.round(p / 100.0 * (n - 1)));
+        return sorted[idx] / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: mean %.2f ms, p95 %.2f ms (%d frames)",
+                name, meanMillis(), percentileMillis(95), getCount());
+    }
+}
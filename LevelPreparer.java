@@ -0,0 +1,149 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Builds levels: maze generation and enemy placement. The next level is
+ * generated on a background thread while the current one is played, so
+ * starting it only has to swap references.
+ */
+public class LevelPreparer {
+
+    private static final int BASE_ENEMY_COUNT = 2;
+    private static final int FINAL_LEVEL_ENEMY_COUNT = 12;
+    private static final int MAX_PER_TYPE = 3;
+
+    private final int rows;
+    private final MazeEngine.Algorithm algorithm;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "level-preparer");
+        t.setDaemon(true);
+        return t;
+    });
+    private Future<PreparedLevel> pending;
+    private int pendingLevel = -1;
+
+    /**
+     * @param rows maze size in cells, odd
+     * @param algorithm generator for new mazes, or null for the original
+     *                  {@link MazeGenerator}, which ignores the seed
+     */
+    public LevelPreparer(int rows, MazeEngine.Algorithm algorithm) {
+        this.rows = rows;
+        this.algorithm = algorithm;
+    }
+
+    /** Start generating {@code level} in the background, replacing any earlier request */
+    public void prepareAsync(int level, long seed) {
+        if (pending != null) pending.cancel(false);
+        pendingLevel = level;
+        pending = executor.submit(() -> generate(level, seed));
+    }
+
+    /**
+     * The prepared level if it matches {@code level}, waiting for it to finish
+     * if necessary; otherwise the level is generated on the calling thread.
+     */
+    public PreparedLevel take(int level, long seed) {
+        Future<PreparedLevel> future = pending;
+        boolean match = future != null && pendingLevel == level;
+        pending = null;
+        pendingLevel = -1;
+        if (match) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                e.printStackTrace();
+            }
+        } else if (future != null) {
+            future.cancel(false);
+        }
+        return generate(level, seed);
+    }
+
+    /** Parse a {@code maze.algorithm} value; "legacy" or unknown names give null */
+    public static MazeEngine.Algorithm parseAlgorithm(String name) {
+        for (MazeEngine.Algorithm a : MazeEngine.Algorithm.values()) {
+            if (a.name().equalsIgnoreCase(name)) return a;
+        }
+        return null;
+    }
+
+    /** Generate a level synchronously; safe to call off the GL thread */
+    public PreparedLevel generate(int level, long seed) {
+        Random rand = new Random(seed);
+        MazeGrid grid;
+        int[][] maze;
+        if (algorithm != null) {
+            // Player, Enemy and GameRenderer need int[][], so keep only that copy
+            // and let the packed one go rather than holding both for the level
+            maze = new MazeEngine(rows, rows).generate(algorithm, rand.nextLong()).toIntArray();
+            grid = MazeGrid.wrap(maze);
+        } else {
+            maze = new MazeGenerator(rows, rows).getMaze();
+            grid = MazeGrid.wrap(maze);
+        }
+        Player player = new Player(maze, rows);
+        List<Enemy> enemies = new ArrayList<>();
+
+        float cellSize = 2f / rows;
+        float margin = cellSize * 6;
+
+        int levelEnemyCount = (level == 5) ? FINAL_LEVEL_ENEMY_COUNT : BASE_ENEMY_COUNT + level;
+
+        int normalCount = 0, miniCount = 0, sniperCount = 0, tankCount = 0;
+
+        for (int i = 0; i < levelEnemyCount; i++) {
+            int er, ec;
+            float ex, ey;
+            do {
+                er = rand.nextInt(rows - 2) + 1;
+                ec = rand.nextInt(rows - 2) + 1;
+                ex = -1 + ec * cellSize + cellSize / 2f;
+                ey = 1 - er * cellSize - cellSize / 2f;
+            } while (Math.hypot(ex - player.getX(), ey - player.getY()) < margin || grid.isWall(er, ec));
+
+            Enemy enemy;
+
+            switch (level) {
+                case 1:
+                    enemy = new Enemy(ex, ey, maze);
+                    break;
+                case 2:
+                    enemy = new TankEnemy(ex, ey, maze);
+                    break;
+                case 3:
+                    enemy = new MiniEnemy(ex, ey, maze);
+                    break;
+                case 4:
+                    enemy = new SniperEnemy(ex, ey, maze);
+                    break;
+                default:
+                    while (true) {
+                        int type = rand.nextInt(4);
+                        if (type == 0 && normalCount < MAX_PER_TYPE) { enemy = new Enemy(ex, ey, maze); normalCount++; break; }
+                        else if (type == 1 && miniCount < MAX_PER_TYPE) { enemy = new MiniEnemy(ex, ey, maze); miniCount++; break; }
+                        else if (type == 2 && sniperCount < MAX_PER_TYPE) { enemy = new SniperEnemy(ex, ey, maze); sniperCount++; break; }
+                        else if (type == 3 && tankCount < MAX_PER_TYPE) { enemy = new TankEnemy(ex, ey, maze); tankCount++; break; }
+                    }
+                    break;
+            }
+
+            enemies.add(enemy);
+        }
+
+        return new PreparedLevel(level, grid, maze, player, enemies);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
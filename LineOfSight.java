@@ -0,0 +1,95 @@
+package game;
+
+import java.util.Arrays;
+
+/**
+ * Visibility between maze cells, shared by every enemy that needs to know
+ * whether it has a clear shot at the player. A query walks the cells on the
+ * line between the two cell centres (a supercover DDA, so a ray squeezing
+ * diagonally between two walls counts as blocked) and stops at the first
+ * wall.
+ * <p>
+ * Results are cached per (from cell, to cell) pair in a direct-mapped table.
+ * The maze does not change during a level, so an entry stays valid until one
+ * side moves to another cell, at which point the query simply uses a
+ * different key. Not thread-safe; make one instance per level.
+ */
+public class LineOfSight {
+
+    private static final long EMPTY = -1L;
+
+    private final MazeGrid grid;
+    private final float cellSize;
+    private final int cols;
+    private final long[] keys;
+    private final boolean[] visible;
+    private final int mask;
+    private long hits, misses;
+
+    /** @param capacity cache entries, rounded up to a power of two */
+    public LineOfSight(MazeGrid grid, float cellSize, int capacity) {
+        this.grid = grid;
+        this.cellSize = cellSize;
+        this.cols = grid.cols();
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.keys = new long[size];
+        this.visible = new boolean[size];
+        this.mask = size - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /** True if nothing but open cells lie between the cells of the two world positions */
+    public boolean canSee(float fromX, float fromY, float toX, float toY) {
+        return canSee(MazeGrid.rowAt(fromY, cellSize), MazeGrid.colAt(fromX, cellSize),
+                      MazeGrid.rowAt(toY, cellSize), MazeGrid.colAt(toX, cellSize));
+    }
+
+    public boolean canSee(int fromRow, int fromCol, int toRow, int toCol) {
+        long from = (long) fromRow * cols + fromCol;
+        long to = (long) toRow * cols + toCol;
+        long key = (from << 32) | (to & 0xffffffffL);
+        long hash = (key ^ (key >>> 29)) * 0x9E3779B97F4A7C15L;
+        int slot = (int) (hash >>> 40) & mask;
+
+        if (keys[slot] == key) {
+            hits++;
+            return visible[slot];
+        }
+        misses++;
+        boolean result = trace(fromRow, fromCol, toRow, toCol);
+        keys[slot] = key;
+        visible[slot] = result;
+        return result;
+    }
+
+    private boolean trace(int r0, int c0, int r1, int c1) {
+        int nc = Math.abs(c1 - c0), nr = Math.abs(r1 - r0);
+        int sc = c1 > c0 ? 1 : -1, sr = r1 > r0 ? 1 : -1;
+        int r = r0, c = c0;
+        if (grid.isWall(r, c)) return false;
+
+        for (int ic = 0, ir = 0; ic < nc || ir < nr; ) {
+            // Compare where the line crosses the next vertical and horizontal cell edges
+            long decision = (long) (1 + 2 * ic) * nr - (long) (1 + 2 * ir) * nc;
+            if (decision == 0) {
+                // Exactly through a corner: both side cells must be open
+                if (grid.isWall(r, c + sc) || grid.isWall(r + sr, c)) return false;
+                c += sc; r += sr; ic++; ir++;
+            } else if (decision < 0) {
+                c += sc; ic++;
+            } else {
+                r += sr; ir++;
+            }
+            if (grid.isWall(r, c)) return false;
+        }
+        return true;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,40 @@
+package game;
+
+import static org.lwjgl.opengl.GL11.*;
+
+/**
+ * Startup screen shown while assets load in the background. Drawn with the
+ * quad batch only, since the font is one of the things still loading.
+ */
+public class LoadingRenderer {
+    private final QuadBatch batch;
+    private final int width;
+    private final int height;
+
+    public LoadingRenderer(QuadBatch batch, int width, int height) {
+        this.batch = batch;
+        this.width = width;
+        this.height = height;
+    }
+
+    public void render(float progress) {
+        glMatrixMode(GL_PROJECTION);
+        glLoadIdentity();
+        glOrtho(0, width, height, 0, -1, 1);
+        glMatrixMode(GL_MODELVIEW);
+        glLoadIdentity();
+
+        float barWidth = width * 0.5f;
+        float barHeight = 20f;
+        float x = (width - barWidth) / 2f;
+        float y = (height - barHeight) / 2f;
+
+        batch.setColor(0.3f, 0.3f, 0.3f);
+        batch.quad(x, y, x + barWidth, y + barHeight);
+        batch.setColor(0.2f, 0.8f, 0.2f);
+        batch.quad(x, y, x + barWidth * progress, y + barHeight);
+        batch.setColor(1.0f, 1.0f, 1.0f);
+        batch.outline(x, y, barWidth, barHeight, 2f);
+        batch.flush();
+    }
+}
@@ -0,0 +1,198 @@
+package game;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Seedable perfect-maze generator for arenas far larger than the default
+ * 21 x 21. Both algorithms are iterative, so grid size is limited only by
+ * memory, never by stack depth.
+ * <p>
+ * The grid follows the {@link MazeGenerator} layout: odd dimensions, a solid
+ * border, rooms at odd (row, col) and the cells between them opened when two
+ * rooms are connected.
+ * <ul>
+ *   <li>{@link Algorithm#WILSON}: loop-erased random walks, giving a uniformly
+ *       random spanning tree. Needs one byte per room besides the grid.</li>
+ *   <li>{@link Algorithm#ELLER}: one room row at a time with a set label per
+ *       column. Only the current row is held, so {@link #stream} can hand rows
+ *       to a consumer without ever building the whole grid.</li>
+ * </ul>
+ */
+public class MazeEngine {
+
+    public enum Algorithm { WILSON, ELLER }
+
+    /** Receives a finished grid row; {@code cells} is reused between calls */
+    public interface RowSink {
+        void row(int r, byte[] cells);
+    }
+
+    // Directions: north, south, west, east
+    private static final int[] DR = { -1, 1, 0, 0 };
+    private static final int[] DC = { 0, 0, -1, 1 };
+
+    private final int rows;
+    private final int cols;
+    private final int roomRows;
+    private final int roomCols;
+
+    /** Both dimensions must be odd and at least 3 */
+    public MazeEngine(int rows, int cols) {
+        if (rows < 3 || cols < 3 || rows % 2 == 0 || cols % 2 == 0) {
+            throw new IllegalArgumentException("Maze size must be odd and at least 3: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.roomRows = (rows - 1) / 2;
+        this.roomCols = (cols - 1) / 2;
+    }
+
+    /** Generate the full grid; the same seed always gives the same maze */
+    public PackedMaze generate(Algorithm algorithm, long seed) {
+        final PackedMaze maze = new PackedMaze(rows, cols);
+        if (algorithm == Algorithm.WILSON) {
+            wilson(maze, new Random(seed));
+        } else {
+            stream(seed, maze::setRow);
+        }
+        return maze;
+    }
+
+    // ──────────────────────────────────────────────
+    // Wilson's algorithm
+    // ──────────────────────────────────────────────
+    private void wilson(PackedMaze maze, Random rand) {
+        int rooms = roomRows * roomCols;
+        byte[] walk = new byte[rooms]; // direction last taken out of each room
+
+        int first = rand.nextInt(rooms);
+        maze.setWall(first / roomCols * 2 + 1, first % roomCols * 2 + 1, false);
+
+        for (int start = 0; start < rooms; start++) {
+            if (inTree(maze, start)) continue;
+
+            // Random walk until the tree is hit; overwriting the exit
+            // direction of revisited rooms erases the loops implicitly
+            int room = start;
+            while (!inTree(maze, room)) {
+                int dir = randomDirection(room, rand);
+                walk[room] = (byte) dir;
+                room = step(room, dir);
+            }
+
+            // Carve the loop-erased path into the tree
+            room = start;
+            while (!inTree(maze, room)) {
+                int dir = walk[room];
+                int r = room / roomCols * 2 + 1;
+                int c = room % roomCols * 2 + 1;
+                maze.setWall(r, c, false);
+                maze.setWall(r + DR[dir], c + DC[dir], false);
+                room = step(room, dir);
+            }
+        }
+    }
+
+    private boolean inTree(PackedMaze maze, int room) {
+        return !maze.isWall(room / roomCols * 2 + 1, room % roomCols * 2 + 1);
+    }
+
+    private int randomDirection(int room, Random rand) {
+        int rr = room / roomCols, rc = room % roomCols;
+        while (true) {
+            int dir = rand.nextInt(4);
+            int nr = rr + DR[dir], nc = rc + DC[dir];
+            if (nr >= 0 && nr < roomRows && nc >= 0 && nc < roomCols) return dir;
+        }
+    }
+
+    private int step(int room, int dir) {
+        return room + DR[dir] * roomCols + DC[dir];
+    }
+
+    // ──────────────────────────────────────────────
+    // Eller's algorithm
+    // ──────────────────────────────────────────────
+
+    /**
+     * Generate with Eller's algorithm, passing each grid row to {@code sink}
+     * top to bottom as soon as it is final. Memory use is O(cols).
+     */
+    public void stream(long seed, RowSink sink) {
+        Random rand = new Random(seed);
+        byte[] line = new byte[cols];
+        byte[] below = new byte[cols];
+
+        // Per column: set label carried down from the previous row (-1 = new room)
+        int[] carried = new int[roomCols];
+        int[] parent = new int[roomCols];
+        int[] firstWithLabel = new int[roomCols];
+        boolean[] hasDown = new boolean[roomCols];
+        int[] lastMember = new int[roomCols];
+        Arrays.fill(carried, -1);
+
+        Arrays.fill(line, PackedMaze.WALL);
+        sink.row(0, line);
+
+        for (int y = 0; y < roomRows; y++) {
+            boolean lastRow = y == roomRows - 1;
+            Arrays.fill(line, PackedMaze.WALL);
+            Arrays.fill(below, PackedMaze.WALL);
+
+            // Rooms that were carved into from above share the set they came from
+            Arrays.fill(firstWithLabel, -1);
+            for (int x = 0; x < roomCols; x++) {
+                parent[x] = x;
+                line[x * 2 + 1] = PackedMaze.OPEN;
+                int label = carried[x];
+                if (label < 0) continue;
+                if (firstWithLabel[label] < 0) firstWithLabel[label] = x;
+                else union(parent, x, firstWithLabel[label]);
+            }
+
+            // Join neighbours in different sets; the last row joins all of them
+            for (int x = 0; x + 1 < roomCols; x++) {
+                if (find(parent, x) != find(parent, x + 1) && (lastRow || rand.nextBoolean())) {
+                    union(parent, x, x + 1);
+                    line[x * 2 + 2] = PackedMaze.OPEN;
+                }
+            }
+
+            if (!lastRow) {
+                // Every set continues down through at least one of its rooms
+                Arrays.fill(hasDown, false);
+                for (int x = 0; x < roomCols; x++) {
+                    int root = find(parent, x);
+                    lastMember[root] = x;
+                    carried[x] = -1;
+                    if (rand.nextBoolean()) {
+                        hasDown[root] = true;
+                        carried[x] = root;
+                    }
+                }
+                for (int x = 0; x < roomCols; x++) {
+                    if (parent[x] == x && !hasDown[x]) carried[lastMember[x]] = x;
+                }
+                for (int x = 0; x < roomCols; x++) {
+                    if (carried[x] >= 0) below[x * 2 + 1] = PackedMaze.OPEN;
+                }
+            }
+
+            sink.row(y * 2 + 1, line);
+            sink.row(y * 2 + 2, below);
+        }
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        parent[find(parent, a)] = find(parent, b);
+    }
+}
@@ -0,0 +1,47 @@
+package game;
+
+/**
+ * Read-only view of a maze: a rows x cols grid of cells that are either wall
+ * or open. Lets code that only asks "is this a wall?" work the same on the
+ * legacy {@code int[][]} mazes and on {@link PackedMaze}.
+ */
+public interface MazeGrid {
+
+    int rows();
+
+    int cols();
+
+    /** True for wall cells; cells outside the grid count as walls */
+    boolean isWall(int r, int c);
+
+    /** Column of world coordinate {@code x} in a maze spanning [-1, 1] */
+    static int colAt(float x, float cellSize) {
+        return (int) Math.floor((x + 1f) / cellSize);
+    }
+
+    /** Row of world coordinate {@code y}; row 0 is the top of the screen */
+    static int rowAt(float y, float cellSize) {
+        return (int) Math.floor((1f - y) / cellSize);
+    }
+
+    /** View an {@code int[][]} maze, where 1 marks a wall, without copying it */
+    static MazeGrid wrap(final int[][] maze) {
+        return new MazeGrid() {
+            @Override
+            public int rows() {
+                return maze.length;
+            }
+
+            @Override
+            public int cols() {
+                return maze.length == 0 ? 0 : maze[0].length;
+            }
+
+            @Override
+            public boolean isWall(int r, int c) {
+                if (r < 0 || r >= maze.length || c < 0 || c >= maze[r].length) return true;
+                return maze[r][c] == 1;
+            }
+        };
+    }
+}
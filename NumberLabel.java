@@ -0,0 +1,30 @@
+package game;
+
+/**
+ * A label of the form prefix + integer + suffix, such as "Volume: 70%".
+ * The string is rebuilt in a reusable buffer only when the value changes,
+ * so redrawing an unchanged label every frame allocates nothing.
+ */
+public class NumberLabel {
+
+    private final String prefix;
+    private final String suffix;
+    private final StringBuilder buffer = new StringBuilder(32);
+    private int value = Integer.MIN_VALUE;
+    private String text = "";
+
+    public NumberLabel(String prefix, String suffix) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    public String text(int newValue) {
+        if (newValue != value) {
+            value = newValue;
+            buffer.setLength(0);
+            buffer.append(prefix).append(newValue).append(suffix);
+            text = buffer.toString();
+        }
+        return text;
+    }
+}
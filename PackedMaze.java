@@ -0,0 +1,66 @@
+package game;
+
+import java.util.Arrays;
+
+/**
+ * Maze stored as one byte per cell in a single row-major array, so a
+ * 2001 x 2001 arena takes 4 MB instead of the 16 MB plus per-row headers of
+ * an {@code int[][]}. That saving only holds while the maze is being
+ * generated: Player, Enemy and GameRenderer still take an {@code int[][]},
+ * so every level is converted with {@link #toIntArray()} and a running
+ * level needs at least as much memory as before.
+ */
+public class PackedMaze implements MazeGrid {
+
+    public static final byte OPEN = 0;
+    public static final byte WALL = 1;
+
+    private final int rows;
+    private final int cols;
+    private final byte[] cells;
+
+    /** A maze of the given size with every cell a wall */
+    public PackedMaze(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = new byte[rows * cols];
+        Arrays.fill(cells, WALL);
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    @Override
+    public boolean isWall(int r, int c) {
+        if (r < 0 || r >= rows || c < 0 || c >= cols) return true;
+        return cells[r * cols + c] == WALL;
+    }
+
+    public void setWall(int r, int c, boolean wall) {
+        cells[r * cols + c] = wall ? WALL : OPEN;
+    }
+
+    /** Overwrite row {@code r} with {@code row}, one byte per cell */
+    public void setRow(int r, byte[] row) {
+        System.arraycopy(row, 0, cells, r * cols, cols);
+    }
+
+    /** Copy into the {@code int[][]} layout used by Player, Enemy and GameRenderer */
+    public int[][] toIntArray() {
+        int[][] maze = new int[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            int base = r * cols;
+            for (int c = 0; c < cols; c++) {
+                maze[r][c] = cells[base + c];
+            }
+        }
+        return maze;
+    }
+}
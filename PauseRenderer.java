@@ -3,10 +3,14 @@ package game;
 import static org.lwjgl.opengl.GL11.*;
 
 public class PauseRenderer {
-    private FontRenderer fontRenderer;
+    private TextCache textCache;
+    private QuadBatch batch;
+    private final NumberLabel volumeLabel = new NumberLabel("Volume: ", "%");
+    private final NumberLabel brightnessLabel = new NumberLabel("Brightness: ", "%");
     
-    public PauseRenderer(FontRenderer fontRenderer) {
-        this.fontRenderer = fontRenderer;
+    public PauseRenderer(TextCache textCache, QuadBatch batch) {
+        this.textCache = textCache;
+        this.batch = batch;
     }
     
     public void render(float volume, float brightness) {
@@ -17,24 +21,24 @@ public class PauseRenderer {
         glColor3f(1.0f, 1.0f, 1.0f);
         
         
-        fontRenderer.renderText("GAME PAUSED", 175f, 150f, 40f);
+        textCache.renderText("GAME PAUSED", 175f, 150f, 40f);
         
        
         glColor3f(0.8f, 0.8f, 1.0f);
-        fontRenderer.renderText("Volume: " + (int)(volume * 100) + "%", 300f, 230f, 32f);
+        textCache.renderText(volumeLabel.text((int)(volume * 100)), 300f, 230f, 32f);
         
        
-        fontRenderer.renderText("Brightness: " + (int)(brightness * 100) + "%", 280f, 280f, 32f);
+        textCache.renderText(brightnessLabel.text((int)(brightness * 100)), 280f, 280f, 32f);
         
        
-        fontRenderer.renderText("Press +/- to Adjust Volume", 250f, 330f, 28f);
+        textCache.renderText("Press +/- to Adjust Volume", 250f, 330f, 28f);
         
         
-        fontRenderer.renderText("Press Up/Down to Adjust Brightness", 220f, 370f, 28f);
+        textCache.renderText("Press Up/Down to Adjust Brightness", 220f, 370f, 28f);
         
        
-        fontRenderer.renderText("Press E to Resume Game", 270f, 420f, 28f);
-        fontRenderer.renderText("Press ESC to Return to Menu", 240f, 460f, 28f);
+        textCache.renderText("Press E to Resume Game", 270f, 420f, 28f);
+        textCache.renderText("Press ESC to Return to Menu", 240f, 460f, 28f);
         
         
         drawVolumeBar(300f, 500f, 200f, 20f, volume);
@@ -43,72 +47,38 @@ public class PauseRenderer {
         drawBrightnessBar(300f, 540f, 200f, 20f, brightness);
         
       
-        glColor3f(0.3f, 0.3f, 0.5f);
-        glBegin(GL_QUADS);
-        glVertex2f(240, 190);
-        glVertex2f(560, 190);
-        glVertex2f(560, 200);
-        glVertex2f(240, 200);
-        glEnd();
+        batch.setColor(0.3f, 0.3f, 0.5f);
+        batch.quad(240, 190, 560, 200);
+
+        // Bars and divider go out in one draw call
+        batch.flush();
     }
     
     private void drawVolumeBar(float x, float y, float width, float height, float volume) {
       
-        glColor3f(0.2f, 0.2f, 0.3f);
-        glBegin(GL_QUADS);
-        glVertex2f(x, y);
-        glVertex2f(x + width, y);
-        glVertex2f(x + width, y + height);
-        glVertex2f(x, y + height);
-        glEnd();
+        batch.setColor(0.2f, 0.2f, 0.3f);
+        batch.quad(x, y, x + width, y + height);
         
         
-        glColor3f(0.2f, 0.6f, 1.0f);
-        glBegin(GL_QUADS);
-        glVertex2f(x, y);
-        glVertex2f(x + width * volume, y);
-        glVertex2f(x + width * volume, y + height);
-        glVertex2f(x, y + height);
-        glEnd();
+        batch.setColor(0.2f, 0.6f, 1.0f);
+        batch.quad(x, y, x + width * volume, y + height);
         
         
-        glColor3f(0.8f, 0.8f, 1.0f);
-        glLineWidth(2f);
-        glBegin(GL_LINE_LOOP);
-        glVertex2f(x, y);
-        glVertex2f(x + width, y);
-        glVertex2f(x + width, y + height);
-        glVertex2f(x, y + height);
-        glEnd();
+        batch.setColor(0.8f, 0.8f, 1.0f);
+        batch.outline(x, y, width, height, 2f);
     }
     
     private void drawBrightnessBar(float x, float y, float width, float height, float brightness) {
+      
+        batch.setColor(0.2f, 0.2f, 0.3f);
+        batch.quad(x, y, x + width, y + height);
         
-        glColor3f(0.2f, 0.2f, 0.3f);
-        glBegin(GL_QUADS);
-        glVertex2f(x, y);
-        glVertex2f(x + width, y);
-        glVertex2f(x + width, y + height);
-        glVertex2f(x, y + height);
-        glEnd();
         
-       
-        glColor3f(1.0f, 0.8f, 0.2f);
-        glBegin(GL_QUADS);
-        glVertex2f(x, y);
-        glVertex2f(x + width * brightness, y);
-        glVertex2f(x + width * brightness, y + height);
-        glVertex2f(x, y + height);
-        glEnd();
+        batch.setColor(1.0f, 0.8f, 0.2f);
+        batch.quad(x, y, x + width * brightness, y + height);
         
         
-        glColor3f(0.8f, 0.8f, 1.0f);
-        glLineWidth(2f);
-        glBegin(GL_LINE_LOOP);
-        glVertex2f(x, y);
-        glVertex2f(x + width, y);
-        glVertex2f(x + width, y + height);
-        glVertex2f(x, y + height);
-        glEnd();
+        batch.setColor(0.8f, 0.8f, 1.0f);
+        batch.outline(x, y, width, height, 2f);
     }
 }
\ No newline at end of file
@@ -0,0 +1,198 @@
+package game;
+
+import java.nio.ByteBuffer;
+
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLCapabilities;
+
+import static org.lwjgl.glfw.GLFW.glfwGetFramebufferSize;
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL12.GL_CLAMP_TO_EDGE;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL30.*;
+
+/**
+ * Screen-wide brightness and gamma. Every game state renders into an
+ * offscreen texture between {@link #begin()} and {@link #end(float, float)};
+ * {@code end} then draws that texture to the window through a small
+ * shader in a single pass. On drivers without framebuffer objects or
+ * shaders it falls back to darkening the frame with a blended quad.
+ */
+public class PostProcessor {
+
+    private static final String VERTEX_SHADER =
+        "#version 120\n" +
+        "void main() {\n" +
+        "    gl_TexCoord[0] = gl_MultiTexCoord0;\n" +
+        "    gl_Position = gl_Vertex;\n" +
+        "}\n";
+
+    private static final String FRAGMENT_SHADER =
+        "#version 120\n" +
+        "uniform sampler2D scene;\n" +
+        "uniform float brightness;\n" +
+        "uniform float gamma;\n" +
+        "void main() {\n" +
+        "    vec3 color = texture2D(scene, gl_TexCoord[0].st).rgb;\n" +
+        "    color = pow(color, vec3(1.0 / gamma)) * brightness;\n" +
+        "    gl_FragColor = vec4(color, 1.0);\n" +
+        "}\n";
+
+    private final long window;
+    private final int width;
+    private final int height;
+    private final QuadBatch fallbackBatch;
+    // Window framebuffer size in pixels, larger than width x height on HiDPI;
+    // the offscreen texture follows it so the scene keeps full resolution
+    private final int[] framebufferWidth = new int[1];
+    private final int[] framebufferHeight = new int[1];
+    private int targetWidth, targetHeight;
+    private boolean supported;
+    private int texture, framebuffer, program;
+    private int brightnessLocation, gammaLocation;
+
+    public PostProcessor(long window, int width, int height, QuadBatch fallbackBatch) {
+        this.window = window;
+        this.width = width;
+        this.height = height;
+        this.fallbackBatch = fallbackBatch;
+
+        GLCapabilities caps = GL.getCapabilities();
+        supported = caps.OpenGL20 && (caps.OpenGL30 || caps.GL_ARB_framebuffer_object);
+        if (supported) {
+            supported = createTarget() && createProgram();
+            if (!supported) {
+                System.err.println("Post-processing unavailable, using brightness overlay");
+                dispose();
+            }
+        }
+    }
+
+    private boolean createTarget() {
+        texture = glGenTextures();
+        glBindTexture(GL_TEXTURE_2D, texture);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+        glBindTexture(GL_TEXTURE_2D, 0);
+        queryFramebufferSize();
+        resizeTarget();
+
+        framebuffer = glGenFramebuffers();
+        glBindFramebuffer(GL_FRAMEBUFFER, framebuffer);
+        glFramebufferTexture2D(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT0, GL_TEXTURE_2D, texture, 0);
+        boolean complete = glCheckFramebufferStatus(GL_FRAMEBUFFER) == GL_FRAMEBUFFER_COMPLETE;
+        glBindFramebuffer(GL_FRAMEBUFFER, 0);
+        return complete;
+    }
+
+    private boolean createProgram() {
+        int vs = compile(GL_VERTEX_SHADER, VERTEX_SHADER);
+        int fs = compile(GL_FRAGMENT_SHADER, FRAGMENT_SHADER);
+        if (vs == 0 || fs == 0) return false;
+
+        program = glCreateProgram();
+        glAttachShader(program, vs);
+        glAttachShader(program, fs);
+        glLinkProgram(program);
+        glDeleteShader(vs);
+        glDeleteShader(fs);
+        if (glGetProgrami(program, GL_LINK_STATUS) == GL_FALSE) {
+            System.err.println(glGetProgramInfoLog(program));
+            return false;
+        }
+
+        glUseProgram(program);
+        glUniform1i(glGetUniformLocation(program, "scene"), 0);
+        brightnessLocation = glGetUniformLocation(program, "brightness");
+        gammaLocation = glGetUniformLocation(program, "gamma");
+        glUseProgram(0);
+        return true;
+    }
+
+    private static int compile(int type, String source) {
+        int shader = glCreateShader(type);
+        glShaderSource(shader, source);
+        glCompileShader(shader);
+        if (glGetShaderi(shader, GL_COMPILE_STATUS) == GL_FALSE) {
+            System.err.println(glGetShaderInfoLog(shader));
+            glDeleteShader(shader);
+            return 0;
+        }
+        return shader;
+    }
+
+    private void queryFramebufferSize() {
+        glfwGetFramebufferSize(window, framebufferWidth, framebufferHeight);
+        // A minimised window reports zero
+        framebufferWidth[0] = Math.max(1, framebufferWidth[0]);
+        framebufferHeight[0] = Math.max(1, framebufferHeight[0]);
+    }
+
+    /** (Re)allocate the texture at the window's framebuffer size; the attachment stays valid */
+    private void resizeTarget() {
+        targetWidth = framebufferWidth[0];
+        targetHeight = framebufferHeight[0];
+        glBindTexture(GL_TEXTURE_2D, texture);
+        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA8, targetWidth, targetHeight, 0, GL_RGBA, GL_UNSIGNED_BYTE, (ByteBuffer) null);
+        glBindTexture(GL_TEXTURE_2D, 0);
+    }
+
+    /** Redirect rendering into the offscreen target */
+    public void begin() {
+        if (!supported) return;
+        queryFramebufferSize();
+        if (framebufferWidth[0] != targetWidth || framebufferHeight[0] != targetHeight) resizeTarget();
+        glBindFramebuffer(GL_FRAMEBUFFER, framebuffer);
+        glViewport(0, 0, targetWidth, targetHeight);
+    }
+
+    /** Present the frame with brightness and gamma applied */
+    public void end(float brightness, float gamma) {
+        if (!supported) {
+            drawOverlay(brightness);
+            return;
+        }
+        glBindFramebuffer(GL_FRAMEBUFFER, 0);
+        glViewport(0, 0, framebufferWidth[0], framebufferHeight[0]);
+
+        glDisable(GL_BLEND);
+        glUseProgram(program);
+        glUniform1f(brightnessLocation, brightness);
+        glUniform1f(gammaLocation, gamma);
+        glBindTexture(GL_TEXTURE_2D, texture);
+
+        // Full-screen quad in clip space; the vertex shader ignores the matrices
+        glBegin(GL_QUADS);
+        glTexCoord2f(0f, 0f); glVertex2f(-1f, -1f);
+        glTexCoord2f(1f, 0f); glVertex2f(1f, -1f);
+        glTexCoord2f(1f, 1f); glVertex2f(1f, 1f);
+        glTexCoord2f(0f, 1f); glVertex2f(-1f, 1f);
+        glEnd();
+
+        glBindTexture(GL_TEXTURE_2D, 0);
+        glUseProgram(0);
+    }
+
+    private void drawOverlay(float brightness) {
+        if (brightness >= 1.0f) return;
+
+        glMatrixMode(GL_PROJECTION);
+        glLoadIdentity();
+        glOrtho(0, width, height, 0, -1, 1);
+        glMatrixMode(GL_MODELVIEW);
+        glLoadIdentity();
+
+        fallbackBatch.setColor(0.0f, 0.0f, 0.0f, 1.0f - brightness);
+        fallbackBatch.quad(0, 0, width, height);
+        fallbackBatch.flush();
+    }
+
+    public void dispose() {
+        if (program != 0) glDeleteProgram(program);
+        if (framebuffer != 0) glDeleteFramebuffers(framebuffer);
+        if (texture != 0) glDeleteTextures(texture);
+        program = framebuffer = texture = 0;
+    }
+}
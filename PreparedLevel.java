@@ -0,0 +1,25 @@
+package game;
+
+import java.util.List;
+
+/**
+ * Everything about a level that can be built without the GL context: the
+ * maze, the player and the enemy roster.
+ */
+public class PreparedLevel {
+
+    public final int level;
+    public final MazeGrid grid;
+    public final int[][] maze;
+    public final Player player;
+    public final List<Enemy> enemies;
+
+    public PreparedLevel(int level, MazeGrid grid, int[][] maze,
+                         Player player, List<Enemy> enemies) {
+        this.level = level;
+        this.grid = grid;
+        this.maze = maze;
+        this.player = player;
+        this.enemies = enemies;
+    }
+}
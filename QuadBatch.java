@@ -0,0 +1,123 @@
+package game;
+
+import java.nio.FloatBuffer;
+
+import org.lwjgl.BufferUtils;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.*;
+
+/**
+ * Collects flat-coloured quads into a client-side buffer and submits them
+ * through one persistent vertex buffer in a single draw call per
+ * {@link #flush()}. Quads are drawn in the current projection, so flush
+ * before changing matrices or drawing anything that must appear on top.
+ */
+public class QuadBatch {
+
+    private static final int FLOATS_PER_VERTEX = 6; // x, y, r, g, b, a
+    private static final int VERTICES_PER_QUAD = 6; // two triangles
+    private static final int STRIDE = FLOATS_PER_VERTEX * Float.BYTES;
+
+    private final int maxQuads;
+    private final FloatBuffer vertices;
+    private final int vbo;
+    private int quads = 0;
+    private boolean translucent = false;
+    private float r = 1f, g = 1f, b = 1f, a = 1f;
+
+    private int drawCalls = 0;
+    private int lastFrameDrawCalls = 0;
+
+    public QuadBatch(int maxQuads) {
+        this.maxQuads = maxQuads;
+        this.vertices = BufferUtils.createFloatBuffer(maxQuads * VERTICES_PER_QUAD * FLOATS_PER_VERTEX);
+        this.vbo = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        glBufferData(GL_ARRAY_BUFFER, (long) vertices.capacity() * Float.BYTES, GL_STREAM_DRAW);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+    }
+
+    public void setColor(float r, float g, float b) {
+        setColor(r, g, b, 1f);
+    }
+
+    public void setColor(float r, float g, float b, float a) {
+        this.r = r;
+        this.g = g;
+        this.b = b;
+        this.a = a;
+    }
+
+    /** Filled quad with corners (x0, y0) and (x1, y1) in the current colour */
+    public void quad(float x0, float y0, float x1, float y1) {
+        if (quads == maxQuads) flush();
+        vertex(x0, y0);
+        vertex(x1, y0);
+        vertex(x1, y1);
+        vertex(x0, y0);
+        vertex(x1, y1);
+        vertex(x0, y1);
+        quads++;
+        if (a < 1f) translucent = true;
+    }
+
+    /** Rectangle outline drawn as four quads of the given thickness */
+    public void outline(float x, float y, float width, float height, float thickness) {
+        float h = thickness / 2f;
+        quad(x - h, y - h, x + width + h, y + h);
+        quad(x - h, y + height - h, x + width + h, y + height + h);
+        quad(x - h, y + h, x + h, y + height - h);
+        quad(x + width - h, y + h, x + width + h, y + height - h);
+    }
+
+    private void vertex(float x, float y) {
+        vertices.put(x).put(y).put(r).put(g).put(b).put(a);
+    }
+
+    /** Draw everything collected so far in one call */
+    public void flush() {
+        if (quads == 0) return;
+        vertices.flip();
+
+        glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        glBufferSubData(GL_ARRAY_BUFFER, 0, vertices);
+        glEnableClientState(GL_VERTEX_ARRAY);
+        glEnableClientState(GL_COLOR_ARRAY);
+        glVertexPointer(2, GL_FLOAT, STRIDE, 0L);
+        glColorPointer(4, GL_FLOAT, STRIDE, 2L * Float.BYTES);
+
+        if (translucent) {
+            glEnable(GL_BLEND);
+            glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        }
+        glDrawArrays(GL_TRIANGLES, 0, quads * VERTICES_PER_QUAD);
+        if (translucent) {
+            glDisable(GL_BLEND);
+        }
+
+        glDisableClientState(GL_COLOR_ARRAY);
+        glDisableClientState(GL_VERTEX_ARRAY);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+
+        drawCalls++;
+        vertices.clear();
+        quads = 0;
+        translucent = false;
+    }
+
+    /** Start counting draw calls for a new frame */
+    public void beginFrame() {
+        lastFrameDrawCalls = drawCalls;
+        drawCalls = 0;
+    }
+
+    /** Draw calls issued by this batch during the previous frame */
+    public int getLastFrameDrawCalls() {
+        return lastFrameDrawCalls;
+    }
+
+    public void dispose() {
+        glDeleteBuffers(vbo);
+    }
+}
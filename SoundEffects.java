@@ -0,0 +1,229 @@
+package game;
+
+import javax.sound.sampled.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Software mixer for short sound effects. Samples are decoded once into
+ * shared mono PCM arrays at the mixer rate; a fixed pool of voices plays
+ * them into a single output line on the "sfx-mixer" thread.
+ * <p>
+ * {@link #play(int, float)} only writes one int into a single-producer,
+ * single-consumer ring, so the game loop can trigger sounds without
+ * allocating or blocking. When every voice is busy the one closest to
+ * finishing is stolen. Call {@code play} from one thread only.
+ */
+public class SoundEffects {
+
+    private static final float SAMPLE_RATE = 44100f;
+    private static final int BLOCK_FRAMES = 256;      // ~6 ms per mix block
+    private static final int LINE_BUFFER_FRAMES = 2048; // ~46 ms of output latency
+    private static final int QUEUE_SIZE = 64;          // power of two
+    private static final int GAIN_STEPS = 0xffff;
+
+    private final List<short[]> samples = new ArrayList<>();
+
+    // Trigger ring: sample id in the high 16 bits, quantised gain in the low 16
+    private final int[] queue = new int[QUEUE_SIZE];
+    private final AtomicInteger queueHead = new AtomicInteger(); // next to read, consumer-owned
+    private final AtomicInteger queueTail = new AtomicInteger(); // next to write, producer-owned
+
+    // Voice pool, owned by the mixer thread
+    private final int[] voiceSample;
+    private final int[] voicePos;
+    private final float[] voiceGain;
+
+    private SourceDataLine line;
+    private Thread mixer;
+    private volatile float masterGain = 1f;
+    private volatile boolean closed;
+
+    public SoundEffects(int voices) {
+        voiceSample = new int[voices];
+        voicePos = new int[voices];
+        voiceGain = new float[voices];
+        Arrays.fill(voiceSample, -1);
+    }
+
+    /**
+     * Decode a short sound into memory.
+     * @param resourcePath e.g. "audio/shoot.wav" on your classpath
+     * @return the id to pass to {@link #play}, or -1 if it could not be loaded
+     */
+    public int load(String resourcePath) {
+        URL url = getClass().getClassLoader().getResource(resourcePath);
+        if (url == null) {
+            System.err.println("Sound effect not found: " + resourcePath);
+            return -1;
+        }
+        try (AudioInputStream in = AudioSystem.getAudioInputStream(url)) {
+            AudioFormat base = in.getFormat();
+            AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, base.getSampleRate(), 16,
+                    base.getChannels(), base.getChannels() * 2, base.getSampleRate(), false);
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (AudioInputStream din = AudioSystem.getAudioInputStream(pcm, in)) {
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = din.read(buffer)) != -1) {
+                    baos.write(buffer, 0, read);
+                }
+            }
+            short[] data = toMono(baos.toByteArray(), pcm.getChannels(), pcm.getSampleRate());
+            synchronized (samples) {
+                samples.add(data);
+                return samples.size() - 1;
+            }
+        } catch (UnsupportedAudioFileException | IOException e) {
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
+    /** Downmix interleaved 16-bit little-endian PCM to mono and resample linearly to the mixer rate */
+    private static short[] toMono(byte[] bytes, int channels, float rate) {
+        int frames = bytes.length / (2 * channels);
+        float[] mono = new float[frames];
+        for (int f = 0; f < frames; f++) {
+            int sum = 0;
+            for (int ch = 0; ch < channels; ch++) {
+                int i = (f * channels + ch) * 2;
+                sum += (short) ((bytes[i] & 0xff) | (bytes[i + 1] << 8));
+            }
+            mono[f] = sum / (float) channels;
+        }
+
+        int outFrames = (int) ((long) frames * SAMPLE_RATE / rate);
+        short[] out = new short[outFrames];
+        float step = rate / SAMPLE_RATE;
+        for (int i = 0; i < outFrames; i++) {
+            float pos = i * step;
+            int a = (int) pos;
+            int b = Math.min(a + 1, frames - 1);
+            float t = pos - a;
+            out[i] = (short) (mono[a] + (mono[b] - mono[a]) * t);
+        }
+        return out;
+    }
+
+    /** Open the output line and start mixing */
+    public void start() {
+        AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+        try {
+            line = AudioSystem.getSourceDataLine(format);
+            line.open(format, LINE_BUFFER_FRAMES * 2);
+            line.start();
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            System.err.println("Sound effects disabled: " + e.getMessage());
+            line = null;
+            return;
+        }
+        mixer = new Thread(this::mixLoop, "sfx-mixer");
+        mixer.setDaemon(true);
+        mixer.setPriority(Thread.MAX_PRIORITY);
+        mixer.start();
+    }
+
+    /**
+     * Queue sample {@code id} at {@code gain} (0 to 1). Never blocks or
+     * allocates; returns false if the id is invalid or the queue is full.
+     */
+    public boolean play(int id, float gain) {
+        if (id < 0 || id > 0xffff || line == null) return false;
+        int tail = queueTail.get();
+        if (tail - queueHead.get() == QUEUE_SIZE) return false;
+        int g = Math.round(Math.max(0f, Math.min(1f, gain)) * GAIN_STEPS);
+        queue[tail & (QUEUE_SIZE - 1)] = (id << 16) | g;
+        queueTail.lazySet(tail + 1); // publishes the slot write to the mixer
+        return true;
+    }
+
+    private void mixLoop() {
+        int[] mix = new int[BLOCK_FRAMES];
+        byte[] out = new byte[BLOCK_FRAMES * 2];
+        short[][] sampleTable = new short[0][];
+
+        while (!closed) {
+            // Refresh the local table only when a sample was loaded since the last block
+            synchronized (samples) {
+                if (sampleTable.length != samples.size()) sampleTable = samples.toArray(new short[0][]);
+            }
+            drainTriggers(sampleTable);
+
+            Arrays.fill(mix, 0);
+            for (int v = 0; v < voiceSample.length; v++) {
+                int id = voiceSample[v];
+                if (id < 0) continue;
+                short[] data = sampleTable[id];
+                int pos = voicePos[v];
+                int n = Math.min(BLOCK_FRAMES, data.length - pos);
+                float gain = voiceGain[v];
+                for (int i = 0; i < n; i++) {
+                    mix[i] += (int) (data[pos + i] * gain);
+                }
+                voicePos[v] = pos + n;
+                if (voicePos[v] >= data.length) voiceSample[v] = -1;
+            }
+
+            float master = masterGain;
+            for (int i = 0; i < BLOCK_FRAMES; i++) {
+                int s = (int) (mix[i] * master);
+                if (s > Short.MAX_VALUE) s = Short.MAX_VALUE;
+                else if (s < Short.MIN_VALUE) s = Short.MIN_VALUE;
+                out[i * 2] = (byte) s;
+                out[i * 2 + 1] = (byte) (s >> 8);
+            }
+            // Blocks once the line buffer is full, pacing the mixer to playback
+            line.write(out, 0, out.length);
+        }
+    }
+
+    private void drainTriggers(short[][] sampleTable) {
+        int head = queueHead.get();
+        int tail = queueTail.get();
+        while (head != tail) {
+            int cmd = queue[head & (QUEUE_SIZE - 1)];
+            head++;
+            int id = cmd >>> 16;
+            if (id >= sampleTable.length) continue;
+            int v = pickVoice(sampleTable);
+            voiceSample[v] = id;
+            voicePos[v] = 0;
+            voiceGain[v] = (cmd & 0xffff) / (float) GAIN_STEPS;
+        }
+        queueHead.lazySet(head);
+    }
+
+    /** A free voice, or else the one with the least left to play */
+    private int pickVoice(short[][] sampleTable) {
+        int best = 0;
+        int bestRemaining = Integer.MAX_VALUE;
+        for (int v = 0; v < voiceSample.length; v++) {
+            if (voiceSample[v] < 0) return v;
+            int remaining = sampleTable[voiceSample[v]].length - voicePos[v];
+            if (remaining < bestRemaining) {
+                bestRemaining = remaining;
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    /** Master volume for all effects, 0 to 1 */
+    public void setVolume(float volume) {
+        masterGain = Math.max(0f, Math.min(1f, volume));
+    }
+
+    public void close() {
+        closed = true;
+        if (line != null) {
+            line.flush();
+            line.close();
+        }
+    }
+}
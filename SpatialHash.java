@@ -0,0 +1,78 @@
+package game;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid over the [-1, 1] play area for broad-phase collision.
+ * Entities are bucketed by centre into cells of the maze cell size, and a
+ * query returns everything in the 3x3 block of cells around a point, which
+ * covers any overlap test whose reach is at most one cell.
+ * Buckets are intrusive linked lists in int arrays; clearing bumps a
+ * generation counter instead of wiping the grid, so rebuilding every step
+ * costs O(entities), not O(cells).
+ */
+public class SpatialHash {
+
+    private final float cellSize;
+    private final int dim;
+    private final int[] head;
+    private final int[] stamp;
+    private int[] next = new int[64];
+    private int generation = 1;
+
+    public SpatialHash(float cellSize) {
+        this.cellSize = cellSize;
+        this.dim = (int) Math.ceil(2f / cellSize) + 1;
+        this.head = new int[dim * dim];
+        this.stamp = new int[dim * dim];
+    }
+
+    /** Remove every entity */
+    public void clear() {
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+    }
+
+    /** Add entity {@code index} at position (x, y) */
+    public void insert(int index, float x, float y) {
+        if (index >= next.length) {
+            next = Arrays.copyOf(next, Math.max(index + 1, next.length * 2));
+        }
+        int cell = cellOf(x, y);
+        next[index] = stamp[cell] == generation ? head[cell] : -1;
+        head[cell] = index;
+        stamp[cell] = generation;
+    }
+
+    /**
+     * Collect entities in the cells around (x, y).
+     * @param out receives entity indices; must be large enough
+     * @return number of indices written
+     */
+    public int query(float x, float y, int[] out) {
+        int cx = column(x), cy = column(y);
+        int count = 0;
+        for (int gy = Math.max(0, cy - 1); gy <= Math.min(dim - 1, cy + 1); gy++) {
+            for (int gx = Math.max(0, cx - 1); gx <= Math.min(dim - 1, cx + 1); gx++) {
+                int cell = gy * dim + gx;
+                if (stamp[cell] != generation) continue;
+                for (int i = head[cell]; i != -1 && count < out.length; i = next[i]) {
+                    out[count++] = i;
+                }
+            }
+        }
+        return count;
+    }
+
+    private int cellOf(float x, float y) {
+        return column(y) * dim + column(x);
+    }
+
+    private int column(float v) {
+        int c = (int) ((v + 1f) / cellSize);
+        return Math.max(0, Math.min(dim - 1, c));
+    }
+}
@@ -4,15 +4,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
-import org.bytedeco.javacv.CanvasFrame;
-import org.bytedeco.javacv.FrameGrabber;
-import org.bytedeco.javacv.OpenCVFrameConverter;
-import org.bytedeco.javacv.OpenCVFrameGrabber;
-import org.bytedeco.opencv.opencv_core.*;
-import org.bytedeco.opencv.global.opencv_imgproc;
-import org.bytedeco.opencv.opencv_objdetect.CascadeClassifier;
-import org.bytedeco.opencv.helper.opencv_core.*;
 import org.bytedeco.opencv.opencv_java;
 import org.bytedeco.javacpp.Loader;
 
@@ -28,38 +22,68 @@ public class TankMazeGame {
         Loader.load(opencv_java.class);
     }
 
-    private Mat currentFrame = null;
-    private OpenCVFrameGrabber grabber;
-    private CascadeClassifier leftGesture;
-    private CascadeClassifier rightGesture;
-    private CascadeClassifier upGesture;
-    private CascadeClassifier downGesture;
-    private CanvasFrame debugCanvas;
+    private GestureWorker gestures;
+    private GestureFilter gestureFilter;
+
+    // Gestures older than this are ignored by the game loop
+    private final long gestureMaxAgeMillis = 250;
 
     // Window properties
     private long window;
     private final int width = 800;
     private final int height = 800;
-    private final int rows = 21; // must be odd
+    // Maze size in cells; even values are rounded up since the maze must be odd.
+    // Large arenas (e.g. -Dmaze.rows=2001) want -Dmaze.algorithm=eller or wilson
+    private final int rows = Integer.getInteger("maze.rows", 21) | 1;
+    private final MazeEngine.Algorithm mazeAlgorithm =
+        LevelPreparer.parseAlgorithm(System.getProperty("maze.algorithm", "legacy"));
 
     // Game components
-    private MazeGenerator generator;
-    private int[][] maze;
+    private final LevelPreparer levelPreparer = new LevelPreparer(rows, mazeAlgorithm);
+    private MazeGrid mazeGrid;
+    // Enemy AI step, optionally multi-threaded; F9 toggles at runtime
+    private final EnemyUpdater enemyUpdater = new EnemyUpdater(
+        Integer.getInteger("game.enemyThreads", Runtime.getRuntime().availableProcessors() - 1),
+        Integer.getInteger("game.parallelEnemyMin", 64),
+        Boolean.getBoolean("game.parallelEnemies"));
     private Player player;
     private GameRenderer renderer;
     private FontRenderer fontRenderer;
+    private TextCache textCache;
     private MenuRenderer menuRenderer;
     private WinRenderer winRenderer;
     private LoseRenderer loseRenderer;
     private LevelRenderer levelRenderer;
     private PauseRenderer pauseRenderer;
+    private QuadBatch quadBatch;
+    private PostProcessor postProcessor;
     private GameState state;
 
     // Gameplay elements
-    private final List<Bullet> bullets = new ArrayList<>();
+    private final BulletPool bullets = new BulletPool(256);
     private List<Enemy> enemies;
-    private List<Bullet> enemyBullets;
-    private final Random rand = new Random();
+    private final List<Bullet> newEnemyShots = new ArrayList<>();
+    // Seeds level generation; set game.seed to replay the same sequence of
+    // levels. With the default "legacy" maze.algorithm only enemy placement
+    // repeats, since MazeGenerator ignores the seed; use eller or wilson for
+    // reproducible mazes
+    private final Random rand = Long.getLong("game.seed") != null
+        ? new Random(Long.getLong("game.seed")) : new Random();
+
+    // Fixed-timestep simulation
+    private static final float SIM_STEP = 1f / 60f;
+    private static final int MAX_SIM_STEPS = 5;
+    private final float maxFrameTime = 0.25f;
+    private float accumulator = 0f;
+
+    // Broad-phase collision grid over enemies, rebuilt every step. The maze
+    // size is fixed for the run, so the grid is allocated once and reused
+    private final SpatialHash enemyGrid = new SpatialHash(2f / rows);
+    private int[] nearbyEnemies = new int[16];
+    private boolean[] enemyDead = new boolean[16];
+
+    // Movement input sampled once per rendered frame, applied every step
+    private boolean moveLeft, moveRight, moveUp, moveDown;
 
     // Shooting
     private final double shootCooldown = 0.5;
@@ -68,11 +92,22 @@ public class TankMazeGame {
     // Level progression
     private int currentLevel = 1;
     private final int maxLevel = 5;
-    private final int enemyCount = 2; // base enemies
 
     // Background music
     private AudioPlayer backgroundMusic;
 
+    // Sound effects, mixed on their own thread
+    private final SoundEffects sfx = new SoundEffects(16);
+    private int shootSound = -1;
+    private int explosionSound = -1;
+
+    // Background loading; the game shows LOADING until every future is done
+    private final AssetManager assets = new AssetManager(3);
+    private Future<AudioPlayer> musicAsset;
+    private Future<Integer> shootAsset;
+    private Future<Integer> explosionAsset;
+    private LoadingRenderer loadingRenderer;
+
     // Background colors (darker tones matching each level theme)
     private final float[][] backgroundColors = {
         {0.1f, 0.1f, 0.1f},
@@ -88,53 +123,54 @@ public class TankMazeGame {
     private boolean minusKeyPressed = false;
     private boolean upKeyPressed = false;
     private boolean downKeyPressed = false;
+    private boolean f9KeyPressed = false;
     
+    // Show per-frame draw-call count in the window title (-Dgame.stats=true)
+    private final boolean showStats = Boolean.getBoolean("game.stats");
+
     // Volume and brightness control
     private float volume = 0.7f; // default volume 70%
     private float brightness = 0.8f; // default brightness 80%
+    private final float gamma = Float.parseFloat(System.getProperty("game.gamma", "1.0"));
 
     private void initGestures() {
-        grabber = new OpenCVFrameGrabber(0);
-        try {
-            grabber.start();
-            debugCanvas = new CanvasFrame("Webcam Preview");
-            debugCanvas.setDefaultCloseOperation(javax.swing.JFrame.EXIT_ON_CLOSE);
-            debugCanvas.setCanvasSize(grabber.getImageWidth(), grabber.getImageHeight());
-        } catch (FrameGrabber.Exception e) {
-            e.printStackTrace();
-        }
-
-        leftGesture = new CascadeClassifier("src/main/resources/cascade/left.xml");
-        rightGesture = new CascadeClassifier("src/main/resources/cascade/right.xml");
-        upGesture = new CascadeClassifier("src/main/resources/cascade/up.xml");
-        downGesture = new CascadeClassifier("src/main/resources/cascade/down.xml");
+        GestureConfig gestureConfig = new GestureConfig();
+        gestures = new GestureWorker(new GesturePipeline(0, gestureConfig, assets), gestureMaxAgeMillis);
+        gestureFilter = new GestureFilter(gestureConfig);
+        gestures.start();
     }
 
     // ──────────────────────────────────────────────
     // Main game loop
     // ──────────────────────────────────────────────
     public void run() throws IOException {
+        // Assets start loading before the window exists; the window shows progress
+        loadAssets();
         initWindow();
 
-        fontRenderer = new FontRenderer();
-        menuRenderer = new MenuRenderer(fontRenderer);
-        winRenderer = new WinRenderer(fontRenderer);
-        loseRenderer = new LoseRenderer(fontRenderer);
-        levelRenderer = new LevelRenderer(fontRenderer);
-        pauseRenderer = new PauseRenderer(fontRenderer);
-
-        // Enter the game directly when starting
+        quadBatch = new QuadBatch(4096);
+        postProcessor = new PostProcessor(window, width, height, quadBatch);
+        loadingRenderer = new LoadingRenderer(quadBatch, width, height);
         currentLevel = 1;
-        startNewGame(currentLevel);
-        state = GameState.PLAYING;
+        state = GameState.LOADING;
 
         double lastTime = glfwGetTime();
+        double lastStatsTime = lastTime;
 
         while (!glfwWindowShouldClose(window)) {
             double now = glfwGetTime();
             float dt = (float) (now - lastTime);
             lastTime = now;
 
+            quadBatch.beginFrame();
+            if (showStats && now - lastStatsTime >= 1.0) {
+                glfwSetWindowTitle(window, "Tank Maze Game | batched draw calls/frame: " + quadBatch.getLastFrameDrawCalls());
+                lastStatsTime = now;
+            }
+
+            // Every state renders offscreen; brightness and gamma are applied on present
+            postProcessor.begin();
+
             // Set background color dynamically by current level
             float[] bg = backgroundColors[Math.min(currentLevel - 1, backgroundColors.length - 1)];
             glClearColor(bg[0], bg[1], bg[2], 1.0f);
@@ -146,93 +182,28 @@ public class TankMazeGame {
                 glOrtho(-1, 1, -1, 1, -1, 1);
                 glMatrixMode(GL_MODELVIEW);
 
-                handleGame();
+                handleGame(dt);
 
-                // Update enemies
-                List<Bullet> newEnemyShots = new ArrayList<>();
-                for (Enemy e : enemies) {
-                    e.update(dt, player, newEnemyShots);
+                // Advance the simulation in fixed steps, dropping time we can't catch up on
+                accumulator += Math.min(dt, maxFrameTime);
+                int steps = 0;
+                while (accumulator >= SIM_STEP && steps < MAX_SIM_STEPS && state == GameState.PLAYING) {
+                    stepGame();
+                    accumulator -= SIM_STEP;
+                    steps++;
                 }
-                enemyBullets.addAll(newEnemyShots);
-
-                // Enemy bullets
-                for (int i = 0; i < enemyBullets.size(); i++) {
-                    Bullet b = enemyBullets.get(i);
-                    b.update();
-
-                    if (Math.abs(b.x - player.getX()) < player.getSize() &&
-                        Math.abs(b.y - player.getY()) < player.getSize()) {
-                        state = GameState.LOSE;
-                        break;
-                    }
-
-                    if (!b.isAlive()) {
-                        enemyBullets.remove(i--);
-                    } else {
-                        glColor3f(1f, 0f, 0f);
-                        b.render();
-                    }
-                }
-
-                // Player bullets → hit enemies
-                for (int i = 0; i < bullets.size(); i++) {
-                    Bullet pb = bullets.get(i);
-                    for (int j = 0; j < enemies.size(); j++) {
-                        Enemy en = enemies.get(j);
-                        if (Math.abs(pb.x - en.getX()) < en.getSize() &&
-                            Math.abs(pb.y - en.getY()) < en.getSize()) {
-                            bullets.remove(i--);
-                            if (en.hit()) enemies.remove(j--);
-                            break;
-                        }
-                    }
+                if (steps == MAX_SIM_STEPS) {
+                    accumulator = Math.min(accumulator, SIM_STEP);
                 }
 
-                // Render everything
-                renderer.render(state, enemies.isEmpty(), enemies, currentLevel);
-
-                // Player bullets rendering
-                for (int i = 0; i < bullets.size(); i++) {
-                    Bullet b = bullets.get(i);
-                    b.update();
-                    if (!b.isAlive()) {
-                        bullets.remove(i--);
-                    } else {
-                        glColor3f(1f, 1f, 1f);
-                        b.render();
-                    }
-                }
-
-                // Apply brightness effect - fixed screen overlay
-                if (brightness < 1.0f) {
-                    // Save current projection and modelview matrices
-                    glMatrixMode(GL_PROJECTION);
-                    glPushMatrix();
-                    glLoadIdentity();
-                    glOrtho(0, width, height, 0, -1, 1); // Switch to screen coordinates
-                    
-                    glMatrixMode(GL_MODELVIEW);
-                    glPushMatrix();
-                    glLoadIdentity();
-                    
-                    // Apply brightness overlay in screen space
-                    glEnable(GL_BLEND);
-                    glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
-                    glColor4f(0.0f, 0.0f, 0.0f, 1.0f - brightness);
-                    glBegin(GL_QUADS);
-                    glVertex2f(0, 0);
-                    glVertex2f(width, 0);
-                    glVertex2f(width, height);
-                    glVertex2f(0, height);
-                    glEnd();
-                    glDisable(GL_BLEND);
-                    
-                    // Restore previous matrix state
-                    glPopMatrix();
-                    glMatrixMode(GL_PROJECTION);
-                    glPopMatrix();
-                    glMatrixMode(GL_MODELVIEW);
+                // A step that ends play (lose, goal, pause) leaves unspent time behind;
+                // drop it and draw the last step as is rather than extrapolating past it
+                float alpha = Math.min(1f, accumulator / SIM_STEP);
+                if (state != GameState.PLAYING) {
+                    accumulator = 0f;
+                    alpha = 1f;
                 }
+                renderGame(alpha);
 
             } else {
                 // UI states
@@ -267,19 +238,33 @@ public class TankMazeGame {
                         handleLevelComplete();
                         break;
 
+                    case LOADING:
+                        loadingRenderer.render(assets.progress());
+                        if (assets.isDone()) finishLoading();
+                        break;
+
                     default:
                         break;
                 }
             }
+            postProcessor.end(brightness, gamma);
             glfwSwapBuffers(window);
             glfwPollEvents();
         }
 
         // Stop music before exiting
         if (backgroundMusic != null) {
-            backgroundMusic.stop();
+            backgroundMusic.close();
         }
+        sfx.close();
+        assets.shutdown();
+        gestures.stop();
+        levelPreparer.shutdown();
+        enemyUpdater.shutdown();
         
+        postProcessor.dispose();
+        quadBatch.dispose();
+        if (textCache != null) textCache.clear();
         glfwDestroyWindow(window);
         glfwTerminate();
     }
@@ -287,6 +272,52 @@ public class TankMazeGame {
     // ──────────────────────────────────────────────
     // Initialization
     // ──────────────────────────────────────────────
+    private void loadAssets() {
+        for (String cascade : GesturePipeline.CASCADE_RESOURCES) {
+            assets.cascade(cascade);
+        }
+        // Streamed, so the track is never decoded whole
+        musicAsset = assets.music("audio/music.wav", true);
+        shootAsset = assets.sound(sfx, "audio/shoot.wav");
+        explosionAsset = assets.sound(sfx, "audio/explosion.wav");
+        levelPreparer.prepareAsync(1, rand.nextLong());
+    }
+
+    /** Called on the GL thread once every asset future has completed */
+    private void finishLoading() {
+        // The font uploads its atlas, so it has to be created here on the GL thread
+        fontRenderer = new FontRenderer();
+        menuRenderer = new MenuRenderer(fontRenderer);
+        winRenderer = new WinRenderer(fontRenderer);
+        loseRenderer = new LoseRenderer(fontRenderer);
+        levelRenderer = new LevelRenderer(fontRenderer);
+        textCache = new TextCache(fontRenderer, 128);
+        pauseRenderer = new PauseRenderer(textCache, quadBatch);
+
+        backgroundMusic = await(musicAsset, null);
+        if (backgroundMusic != null) {
+            backgroundMusic.setVolume(volume);
+            backgroundMusic.play();
+        }
+        shootSound = await(shootAsset, -1);
+        explosionSound = await(explosionAsset, -1);
+
+        // Enter the game directly when starting
+        startNewGame(currentLevel);
+        state = GameState.PLAYING;
+    }
+
+    private static <T> T await(Future<T> future, T fallback) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+        }
+        return fallback;
+    }
+
     private void initWindow() {
         initGestures();
 
@@ -303,9 +334,8 @@ public class TankMazeGame {
         glfwMakeContextCurrent(window);
         GL.createCapabilities();
 
-        backgroundMusic = new AudioPlayer("audio/music.wav");
-        backgroundMusic.setVolume(volume);
-        backgroundMusic.play();
+        sfx.start();
+        sfx.setVolume(volume);
 
         glfwSwapInterval(1);
         glfwShowWindow(window);
@@ -316,61 +346,22 @@ public class TankMazeGame {
     // Game start logic
     // ──────────────────────────────────────────────
     private void startNewGame(int level) {
-        generator = new MazeGenerator(rows, rows);
-        maze = generator.getMaze();
-        player = new Player(maze, rows);
-        renderer = new GameRenderer(maze, player, fontRenderer);
+        // Usually already generated in the background while the previous level was played
+        PreparedLevel next = levelPreparer.take(level, rand.nextLong());
+        mazeGrid = next.grid;
+        player = next.player;
+        enemies = next.enemies;
+
+        renderer = new GameRenderer(next.maze, player, fontRenderer);
 
         bullets.clear();
-        enemyBullets = new ArrayList<>();
+        bullets.setWalls(mazeGrid, 2f / rows);
+        gestureFilter.reset();
+        accumulator = 0f;
         lastShootTime = 0;
-        enemies = new ArrayList<>();
-
-        float cellSize = 2f / rows;
-        float margin = cellSize * 6;
-
-        int levelEnemyCount = (level == 5) ? 12 : enemyCount + level;
-
-        int normalCount = 0, miniCount = 0, sniperCount = 0, tankCount = 0;
-
-        for (int i = 0; i < levelEnemyCount; i++) {
-            int er, ec;
-            float ex, ey;
-            do {
-                er = rand.nextInt(rows - 2) + 1;
-                ec = rand.nextInt(rows - 2) + 1;
-                ex = -1 + ec * cellSize + cellSize / 2f;
-                ey = 1 - er * cellSize - cellSize / 2f;
-            } while (Math.hypot(ex - player.getX(), ey - player.getY()) < margin || maze[er][ec] == 1);
-
-            Enemy enemy;
-
-            switch (level) {
-                case 1:
-                    enemy = new Enemy(ex, ey, maze);
-                    break;
-                case 2:
-                    enemy = new TankEnemy(ex, ey, maze);
-                    break;
-                case 3:
-                    enemy = new MiniEnemy(ex, ey, maze);
-                    break;
-                case 4:
-                    enemy = new SniperEnemy(ex, ey, maze);
-                    break;
-                default:
-                    while (true) {
-                        int type = rand.nextInt(4);
-                        if (type == 0 && normalCount < 3) { enemy = new Enemy(ex, ey, maze); normalCount++; break; }
-                        else if (type == 1 && miniCount < 3) { enemy = new MiniEnemy(ex, ey, maze); miniCount++; break; }
-                        else if (type == 2 && sniperCount < 3) { enemy = new SniperEnemy(ex, ey, maze); sniperCount++; break; }
-                        else if (type == 3 && tankCount < 3) { enemy = new TankEnemy(ex, ey, maze); tankCount++; break; }
-                    }
-                    break;
-            }
 
-            enemies.add(enemy);
-        }
+        // Start on the level that will most likely be needed next
+        levelPreparer.prepareAsync(level < maxLevel ? level + 1 : 1, rand.nextLong());
 
         state = GameState.PLAYING;
     }
@@ -401,7 +392,10 @@ public class TankMazeGame {
                                      glfwGetKey(window, GLFW_KEY_KP_ADD) == GLFW_PRESS;
         if (currentPlusKeyState && !plusKeyPressed) {
             volume = Math.min(1.0f, volume + 0.1f);
-            backgroundMusic.setVolume(volume);
+            if (backgroundMusic != null) {
+                backgroundMusic.setVolume(volume);
+            }
+            sfx.setVolume(volume);
         }
         plusKeyPressed = currentPlusKeyState;
         
@@ -410,7 +404,10 @@ public class TankMazeGame {
                                       glfwGetKey(window, GLFW_KEY_KP_SUBTRACT) == GLFW_PRESS;
         if (currentMinusKeyState && !minusKeyPressed) {
             volume = Math.max(0.0f, volume - 0.1f);
-            backgroundMusic.setVolume(volume);
+            if (backgroundMusic != null) {
+                backgroundMusic.setVolume(volume);
+            }
+            sfx.setVolume(volume);
         }
         minusKeyPressed = currentMinusKeyState;
         
@@ -445,7 +442,7 @@ public class TankMazeGame {
         }
     }
 
-    private void handleGame() {
+    private void handleGame(float dt) {
         // Check E key to pause game
         boolean currentEKeyState = glfwGetKey(window, GLFW_KEY_E) == GLFW_PRESS;
         
@@ -459,25 +456,20 @@ public class TankMazeGame {
             return;
         }
 
-        OpenCVFrameConverter.ToMat converter = new OpenCVFrameConverter.ToMat();
-        try {
-            org.bytedeco.javacv.Frame frame = grabber.grab();
-            currentFrame = converter.convert(frame);
-        } catch (Exception e) { e.printStackTrace(); }
-
-        boolean moveLeft  = glfwGetKey(window, GLFW_KEY_A) == GLFW_PRESS || detectGesture(currentFrame, leftGesture, "Left");
-        boolean moveRight = glfwGetKey(window, GLFW_KEY_D) == GLFW_PRESS || detectGesture(currentFrame, rightGesture, "Right");
-        boolean moveUp    = glfwGetKey(window, GLFW_KEY_W) == GLFW_PRESS || detectGesture(currentFrame, upGesture, "Up");
-        boolean moveDown  = glfwGetKey(window, GLFW_KEY_S) == GLFW_PRESS || detectGesture(currentFrame, downGesture, "Down");
+        // Latest gestures from the background worker, debounced at render rate
+        gestureFilter.update(gestures.latest(), dt);
 
-        if (moveLeft)  player.move(-1, 0);
-        if (moveRight) player.move(1, 0);
-        if (moveUp)    player.move(0, 1);
-        if (moveDown)  player.move(0, -1);
+        moveLeft  = glfwGetKey(window, GLFW_KEY_A) == GLFW_PRESS || gestureFilter.isActive(GesturePipeline.LEFT);
+        moveRight = glfwGetKey(window, GLFW_KEY_D) == GLFW_PRESS || gestureFilter.isActive(GesturePipeline.RIGHT);
+        moveUp    = glfwGetKey(window, GLFW_KEY_W) == GLFW_PRESS || gestureFilter.isActive(GesturePipeline.UP);
+        moveDown  = glfwGetKey(window, GLFW_KEY_S) == GLFW_PRESS || gestureFilter.isActive(GesturePipeline.DOWN);
 
-        if (enemies.isEmpty() && player.reachedGoal()) {
-            state = (currentLevel < maxLevel) ? GameState.LEVEL_COMPLETE : GameState.WIN;
+        boolean currentF9KeyState = glfwGetKey(window, GLFW_KEY_F9) == GLFW_PRESS;
+        if (currentF9KeyState && !f9KeyPressed) {
+            enemyUpdater.setParallel(!enemyUpdater.isParallel());
+            System.out.println("Parallel enemy update " + (enemyUpdater.isParallel() ? "on" : "off"));
         }
+        f9KeyPressed = currentF9KeyState;
 
         if (glfwGetKey(window, GLFW_KEY_N) == GLFW_PRESS) {
             state = (currentLevel < maxLevel) ? GameState.LEVEL_COMPLETE : GameState.WIN;
@@ -485,11 +477,105 @@ public class TankMazeGame {
 
         double now = glfwGetTime();
         if (glfwGetKey(window, GLFW_KEY_F) == GLFW_PRESS && now - lastShootTime >= shootCooldown) {
-            bullets.add(player.shoot());
+            bullets.allocate(player.shoot(), BulletPool.OWNER_PLAYER);
+            sfx.play(shootSound, 0.6f);
             lastShootTime = now;
         }
     }
 
+    // ──────────────────────────────────────────────
+    // Fixed-step simulation and interpolated rendering
+    // ──────────────────────────────────────────────
+    private void stepGame() {
+        if (moveLeft)  player.move(-1, 0);
+        if (moveRight) player.move(1, 0);
+        if (moveUp)    player.move(0, 1);
+        if (moveDown)  player.move(0, -1);
+
+        // Update enemies; their shots join the pool
+        newEnemyShots.clear();
+        enemyUpdater.update(enemies, player, SIM_STEP, newEnemyShots);
+        for (int i = 0; i < newEnemyShots.size(); i++) {
+            bullets.allocate(newEnemyShots.get(i), BulletPool.OWNER_ENEMY);
+        }
+
+        bullets.update();
+
+        // Bucket enemies by maze cell so each bullet only tests its neighbours
+        int enemyTotal = enemies.size();
+        if (enemyDead.length < enemyTotal) {
+            enemyDead = new boolean[enemyTotal * 2];
+            nearbyEnemies = new int[enemyTotal * 2];
+        }
+        enemyGrid.clear();
+        for (int j = 0; j < enemyTotal; j++) {
+            Enemy en = enemies.get(j);
+            enemyGrid.insert(j, en.getX(), en.getY());
+            enemyDead[j] = false;
+        }
+
+        for (int i = 0; i < bullets.size(); i++) {
+            float bx = bullets.x(i), by = bullets.y(i);
+
+            // Enemy bullets → hit the player
+            if (bullets.owner(i) == BulletPool.OWNER_ENEMY) {
+                if (Math.abs(bx - player.getX()) < player.getSize() &&
+                    Math.abs(by - player.getY()) < player.getSize()) {
+                    state = GameState.LOSE;
+                }
+                continue;
+            }
+
+            // Player bullets → hit the first overlapping enemy
+            int target = -1;
+            int count = enemyGrid.query(bx, by, nearbyEnemies);
+            for (int k = 0; k < count; k++) {
+                int j = nearbyEnemies[k];
+                Enemy en = enemies.get(j);
+                if (!enemyDead[j] && (target == -1 || j < target) &&
+                    Math.abs(bx - en.getX()) < en.getSize() &&
+                    Math.abs(by - en.getY()) < en.getSize()) {
+                    target = j;
+                }
+            }
+            if (target != -1) {
+                if (enemies.get(target).hit()) {
+                    enemyDead[target] = true;
+                    sfx.play(explosionSound, 1.0f);
+                }
+                bullets.free(i--);
+            }
+        }
+
+        // Compact out destroyed enemies, keeping their order
+        int alive = 0;
+        for (int j = 0; j < enemyTotal; j++) {
+            if (!enemyDead[j]) enemies.set(alive++, enemies.get(j));
+        }
+        enemies.subList(alive, enemyTotal).clear();
+
+        if (enemies.isEmpty() && player.reachedGoal()) {
+            state = (currentLevel < maxLevel) ? GameState.LEVEL_COMPLETE : GameState.WIN;
+        }
+    }
+
+    /**
+     * Draw the playing field. Bullets are drawn between their previous and
+     * current step positions; {@code alpha} is the fraction of a step left
+     * in the accumulator. Brightness is applied later by the post-process
+     * pass, as for every other state.
+     */
+    private void renderGame(float alpha) {
+        bullets.render(quadBatch, BulletPool.OWNER_ENEMY, alpha);
+        quadBatch.flush();
+
+        renderer.render(state, enemies.isEmpty(), enemies, currentLevel);
+
+        // Player bullets rendering
+        bullets.render(quadBatch, BulletPool.OWNER_PLAYER, alpha);
+        quadBatch.flush();
+    }
+
     private void handleWin() {
         if (glfwGetKey(window, GLFW_KEY_SPACE) == GLFW_PRESS) {
             if (currentLevel < maxLevel) {
@@ -526,38 +612,6 @@ public class TankMazeGame {
             glfwSetWindowShouldClose(window, true);
     }
 
-    private boolean detectGesture(Mat mat, CascadeClassifier classifier, String label) {
-        try {
-            org.bytedeco.javacv.Frame frame = grabber.grab();
-            if (frame == null) return false;
-
-            OpenCVFrameConverter.ToMat converter = new OpenCVFrameConverter.ToMat();
-            Mat frameMat = converter.convert(frame);
-            if (frameMat == null || frameMat.empty()) return false;
-
-            Mat gray = new Mat();
-            opencv_imgproc.cvtColor(frameMat, gray, opencv_imgproc.COLOR_BGR2GRAY);
-            RectVector detections = new RectVector();
-            classifier.detectMultiScale(gray, detections);
-
-            for (int i = 0; i < detections.size(); i++) {
-                Rect rect = detections.get(i);
-                opencv_imgproc.rectangle(frameMat, rect, Scalar.RED);
-                opencv_imgproc.putText(frameMat, label, new Point(rect.x(), rect.y() - 5), opencv_imgproc.FONT_HERSHEY_SIMPLEX, 0.7, Scalar.YELLOW);
-            }
-
-            if (debugCanvas != null && debugCanvas.isVisible()) {
-                debugCanvas.showImage(converter.convert(frameMat));
-            }
-
-            return detections.size() > 0;
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
-
     public static void main(String[] args) throws IOException {
         new TankMazeGame().run();
     }
@@ -0,0 +1,85 @@
+package game;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.lwjgl.opengl.GL11.*;
+
+/**
+ * LRU cache of laid-out text in front of {@link FontRenderer}. The first
+ * time a (text, size) pair is drawn, the glyph quads FontRenderer emits
+ * from its atlas are recorded into a display list at the origin. Later
+ * draws replay the list translated to the requested position, so static
+ * labels skip layout entirely. The least recently used lists are deleted
+ * once the cache is full.
+ * <p>
+ * Assumes {@code renderText(text, x, y, size)} only offsets its vertices by
+ * (x, y), and leaves colour to the caller, as the renderers here do.
+ */
+public class TextCache {
+
+    private final FontRenderer fontRenderer;
+    private final LinkedHashMap<Key, Integer> lists;
+    private final Key probe = new Key();
+
+    public TextCache(FontRenderer fontRenderer, final int capacity) {
+        this.fontRenderer = fontRenderer;
+        this.lists = new LinkedHashMap<Key, Integer>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Integer> eldest) {
+                if (size() > capacity) {
+                    glDeleteLists(eldest.getValue(), 1);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /** Draw {@code text} at (x, y), laying it out only on a cache miss */
+    public void renderText(String text, float x, float y, float size) {
+        probe.text = text;
+        probe.size = size;
+        Integer list = lists.get(probe);
+        if (list == null) {
+            list = glGenLists(1);
+            glNewList(list, GL_COMPILE);
+            fontRenderer.renderText(text, 0f, 0f, size);
+            glEndList();
+            Key key = new Key();
+            key.text = text;
+            key.size = size;
+            lists.put(key, list);
+        }
+
+        glPushMatrix();
+        glTranslatef(x, y, 0f);
+        glCallList(list);
+        glPopMatrix();
+    }
+
+    /** Delete every cached list */
+    public void clear() {
+        for (int list : lists.values()) {
+            glDeleteLists(list, 1);
+        }
+        lists.clear();
+    }
+
+    private static final class Key {
+        String text;
+        float size;
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return size == k.size && text.equals(k.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * text.hashCode() + Float.floatToIntBits(size);
+        }
+    }
+}